@@ -0,0 +1,136 @@
+package win.demistorm;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.List;
+
+// Keeps the aim assist candidates warm while a throw is being held, so the release frame only scores
+// a handful of entities instead of everything in a 50 block box.
+// Every loaded living entity is known from load/unload events. While a throw is held a slice of them
+// is re-checked each tick against a range around the player, so the whole world is covered a few times
+// before the release. No cone here: VR players throw without looking, the throw direction (and with it
+// the assist cone) is only known at release.
+public final class AimCandidateTracker {
+
+    // Prefilter is looser than the assist itself
+    static final double prefilterRange = 29.0;                 // Assist range + room to walk/move
+    private static final double prefilterRangeSq = prefilterRange * prefilterRange;
+
+    // Full passes over the known entities needed before the set is trusted (throws need 5 ticks held)
+    private static final int ticksPerPass = 4;
+    private static final int minSlice = 32;
+
+    // Every loaded living entity, swap-removed through the index map
+    private static final ObjectArrayList<LivingEntity> KNOWN = new ObjectArrayList<>();
+    private static final Reference2IntOpenHashMap<LivingEntity> INDEX = new Reference2IntOpenHashMap<>();
+
+    // Entities that passed the prefilter on their last check
+    private static final ReferenceOpenHashSet<LivingEntity> VIABLE = new ReferenceOpenHashSet<>();
+    private static final ReferenceArrayList<LivingEntity> SNAPSHOT = new ReferenceArrayList<>();
+
+    private static boolean tracking = false;
+    private static int cursor = 0;
+    private static int checkedThisHold = 0; // Entities checked since begin(), ready after one full pass
+
+    public static void init() {
+        INDEX.defaultReturnValue(-1);
+        ClientEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof LivingEntity living) add(living);
+        });
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof LivingEntity living) remove(living);
+        });
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> clear());
+    }
+
+    // Throw hold started
+    public static void begin() {
+        tracking = true;
+        cursor = 0;
+        checkedThisHold = 0;
+        VIABLE.clear();
+    }
+
+    // Throw released or cancelled
+    public static void end() {
+        tracking = false;
+        VIABLE.clear();
+    }
+
+    // One slice of the known entities, plus a recheck of the current candidates (they move)
+    public static void tick(ClientPlayerEntity player, Vec3d eye) {
+        if (!tracking) return;
+
+        // Existing candidates, cheap and keeps the set honest every tick
+        VIABLE.removeIf(e -> !passes(e, player, eye));
+
+        int n = KNOWN.size();
+        if (n == 0) {
+            checkedThisHold = Integer.MAX_VALUE;
+            return;
+        }
+        int slice = Math.min(n, Math.max(minSlice, (n + ticksPerPass - 1) / ticksPerPass));
+        for (int k = 0; k < slice; k++) {
+            if (cursor >= n) cursor = 0;
+            LivingEntity e = KNOWN.get(cursor++);
+            if (passes(e, player, eye)) VIABLE.add(e);
+            else VIABLE.remove(e);
+        }
+        if (checkedThisHold < Integer.MAX_VALUE - slice) checkedThisHold += slice;
+    }
+
+    // True once every known entity has been checked at least once during this hold
+    public static boolean ready() {
+        return tracking && checkedThisHold >= KNOWN.size();
+    }
+
+    // Current candidates, only valid until the next tick
+    public static List<LivingEntity> candidates() {
+        SNAPSHOT.clear();
+        SNAPSHOT.addAll(VIABLE);
+        return SNAPSHOT;
+    }
+
+    private static boolean passes(LivingEntity e, ClientPlayerEntity player, Vec3d eye) {
+        if (e == player || e.isRemoved() || !e.isAlive() || e.isSpectator()) return false;
+        return inRange(e.getX() - eye.x, e.getY() + e.getHeight() * 0.5 - eye.y, e.getZ() - eye.z);
+    }
+
+    // Range prefilter on an offset from the eye
+    static boolean inRange(double dx, double dy, double dz) {
+        return dx * dx + dy * dy + dz * dz <= prefilterRangeSq;
+    }
+
+    private static void add(LivingEntity e) {
+        if (INDEX.containsKey(e)) return;
+        INDEX.put(e, KNOWN.size());
+        KNOWN.add(e);
+    }
+
+    private static void remove(LivingEntity e) {
+        int i = INDEX.removeInt(e);
+        if (i < 0) return;
+        LivingEntity last = KNOWN.pop();
+        if (last != e) {
+            KNOWN.set(i, last);
+            INDEX.put(last, i);
+        }
+        VIABLE.remove(e);
+    }
+
+    private static void clear() {
+        KNOWN.clear();
+        INDEX.clear();
+        end();
+    }
+
+    private AimCandidateTracker() {}
+}
@@ -20,8 +20,9 @@ public final class AimHelper {
     private static final double assistStrength = 0.5;
     private static final double maxPredictionTime = 2.5;
 
-    // Physics constants
-    private static final double gravityCalc = 0.06; // Gravity per tick squared
+    private static final double maxInterceptError = 0.15; // Max launch speed mismatch (relative) to still assist
+
+    // Physics constants (gravity and drag live in ProjectilePhysics)
     private static final double ticksPerSecond = 20.0;
 
     // Applies aim assist
@@ -52,11 +53,16 @@ public final class AimHelper {
         Vec3d throwDirection = velocity.normalize();
         double throwSpeed = velocity.length();
 
-        Box searchBox = Box.of(origin, maxAssistDistance * 2, maxAssistDistance * 2, maxAssistDistance * 2);
-
-        List<LivingEntity> candidates = player.getWorld()
-                .getEntitiesByClass(LivingEntity.class, searchBox, entity ->
-                        entity != player && entity.isAlive() && !entity.isSpectator());
+        List<LivingEntity> candidates;
+        if (AimCandidateTracker.ready()) {
+            // Already narrowed down while the throw was held
+            candidates = AimCandidateTracker.candidates();
+        } else {
+            Box searchBox = Box.of(origin, maxAssistDistance * 2, maxAssistDistance * 2, maxAssistDistance * 2);
+            candidates = player.getWorld()
+                    .getEntitiesByClass(LivingEntity.class, searchBox, entity ->
+                            entity != player && entity.isAlive() && !entity.isSpectator());
+        }
 
         TargetInfo bestTarget = null;
         double bestScore = 0.0;
@@ -80,6 +86,12 @@ public final class AimHelper {
     private static TargetInfo evaluateTarget(LivingEntity entity, Vec3d origin, Vec3d throwDirection, double throwSpeed) {
         Vec3d targetPos = entity.getPos().add(0, entity.getHeight() / 1.5, 0); // Where to aim on entity
         // Currently set to upper-mid body ^
+        return evaluateTarget(entity, targetPos, entity.getVelocity(), origin, throwDirection, throwSpeed);
+    }
+
+    // Same checks on a raw aim point + velocity (entity is only carried along)
+    static TargetInfo evaluateTarget(LivingEntity entity, Vec3d targetPos, Vec3d entityVelocity,
+                                     Vec3d origin, Vec3d throwDirection, double throwSpeed) {
         Vec3d toTarget = targetPos.subtract(origin);
         double distance = toTarget.length();
 
@@ -91,7 +103,6 @@ public final class AimHelper {
         if (angle > assistViewAngle) return null;
 
         // Predict intercept time
-        Vec3d entityVelocity = entity.getVelocity();
         double interceptTime = calculateOptimalInterceptTime(origin, targetPos, entityVelocity, throwSpeed);
 
         if (interceptTime < 0 || interceptTime > maxPredictionTime) return null;
@@ -107,27 +118,21 @@ public final class AimHelper {
         return new TargetInfo(entity, targetPos, predictedPos, distance, angle, trajectoryConfidence, interceptTime);
     }
 
-    // Finds when to intercept based on target speed and throw speed
-    private static double calculateOptimalInterceptTime(Vec3d origin, Vec3d targetPos, Vec3d targetVel, double throwSpeed) {
+    // Finds when to intercept based on target speed and throw speed.
+    // Models the real projectile flight (gravity + drag), see ProjectilePhysics
+    static double calculateOptimalInterceptTime(Vec3d origin, Vec3d targetPos, Vec3d targetVel, double throwSpeed) {
         final double minTicks = 1.0;
         final double maxTicks = maxPredictionTime * ticksPerSecond;
 
         if (throwSpeed <= 1.0e-6) return -1.0;
 
-        // Compare required speed vs player throw speed
-        java.util.function.DoubleUnaryOperator speedErrorAtTicks = (double tTicks) -> {
-            if (tTicks <= 1e-6) return Double.POSITIVE_INFINITY;
-            Vec3d predicted = targetPos.add(targetVel.multiply(tTicks));
-            double tSec = tTicks / ticksPerSecond;
-            Vec3d requiredVel = calculateRequiredBallisticVelocity(origin, predicted, tSec);
-            return requiredVel.length() - throwSpeed;
-        };
-
-        // Initial guess using linear distance (no gravity yet)
-        Vec3d r0 = targetPos.subtract(origin);
-        double a = targetVel.lengthSquared() - throwSpeed * throwSpeed;
-        double b = 2.0 * r0.dotProduct(targetVel);
-        double c = r0.lengthSquared();
+        double rx = targetPos.x - origin.x, ry = targetPos.y - origin.y, rz = targetPos.z - origin.z;
+        double ux = targetVel.x, uy = targetVel.y, uz = targetVel.z;
+
+        // Initial guess ignoring gravity and drag, both only make the real flight longer
+        double a = ux * ux + uy * uy + uz * uz - throwSpeed * throwSpeed;
+        double b = 2.0 * (rx * ux + ry * uy + rz * uz);
+        double c = rx * rx + ry * ry + rz * rz;
 
         double tGuess = -1.0;
         double disc = b * b - 4.0 * a * c;
@@ -146,110 +151,25 @@ public final class AimHelper {
             if (Double.isFinite(best)) tGuess = best;
         }
         // Fallback guess by linear distance
-        if (!(tGuess > 0)) {
-            double linearDistance = r0.length();
-            tGuess = Math.max(minTicks, Math.min(maxTicks, linearDistance / Math.max(1e-6, throwSpeed)));
-        } else {
-            tGuess = MathHelper.clamp(tGuess, minTicks, maxTicks);
-        }
-
-        // Look for a good time range and refine it
-        final int steps = 12;
-        double prevT = minTicks;
-        double prevErr = speedErrorAtTicks.applyAsDouble(prevT);
-        double brLo = Double.NaN, brHi = Double.NaN, errLo = 0;
-
-        for (int i = 1; i <= steps; i++) {
-            double alpha = (double) i / steps;
-            double t = MathHelper.lerp(alpha, minTicks, maxTicks);
-            t = MathHelper.lerp(0.25f, t, MathHelper.clamp((float) tGuess, (float) minTicks, (float) maxTicks));
-            double err = speedErrorAtTicks.applyAsDouble(t);
-
-            if (prevErr == 0.0 || err == 0.0 || (prevErr < 0 && err > 0) || (prevErr > 0 && err < 0)) {
-                brLo = Math.min(prevT, t);
-                brHi = Math.max(prevT, t);
-                errLo = (brLo == prevT) ? prevErr : err;
-                break;
-            }
-            prevT = t;
-            prevErr = err;
-        }
-
-        double solvedTicks;
-        final double absTol = Math.max(0.01, 0.03 * throwSpeed);
-
-        if (Double.isFinite(brLo) && Double.isFinite(brHi)) {
-            double lo = brLo, hi = brHi;
-            double fLo = errLo;
-
-            for (int iter = 0; iter < 18; iter++) {
-                double mid = 0.5 * (lo + hi);
-                double fMid = speedErrorAtTicks.applyAsDouble(mid);
-
-                if (Math.abs(fMid) <= absTol) {
-                    solvedTicks = mid;
-                    double errPct = Math.abs(fMid) / Math.max(1e-6, throwSpeed);
-                    log.debug("[Aim Assist] Intercept refined: T={} ticks (~{}s), err={} ({}%)",
-                            String.format("%.2f", solvedTicks),
-                            String.format("%.2f", solvedTicks / ticksPerSecond),
-                            String.format("%.4f", fMid),
-                            errPct * 100.0);
-                    return solvedTicks / ticksPerSecond;
-                }
-
-                if ((fLo < 0 && fMid > 0) || (fLo > 0 && fMid < 0)) {
-                    hi = mid;
-                } else {
-                    lo = mid;
-                    fLo = fMid;
-                }
-            }
-            solvedTicks = 0.5 * (lo + hi);
-            return solvedTicks / ticksPerSecond;
-        }
-
-        // If no perfect fit, test nearby times
-        double[] testTimes = new double[] {
-                MathHelper.clamp(tGuess * 0.5, minTicks, maxTicks),
-                MathHelper.clamp(tGuess * 0.75, minTicks, maxTicks),
-                MathHelper.clamp(tGuess, minTicks, maxTicks),
-                MathHelper.clamp(tGuess * 1.25, minTicks, maxTicks),
-                MathHelper.clamp(tGuess * 1.5, minTicks, maxTicks),
-        };
-
-        double bestT = -1;
-        double bestAbsErr = Double.MAX_VALUE;
-        for (double t : testTimes) {
-            double e = speedErrorAtTicks.applyAsDouble(t);
-            double ae = Math.abs(e);
-            if (ae < bestAbsErr) {
-                bestAbsErr = ae;
-                bestT = t;
-            }
-        }
+        if (!(tGuess > 0)) tGuess = Math.sqrt(c) / throwSpeed;
 
         // Requires assist to be close enough to player's throw speed
-        double relErr = bestAbsErr / Math.max(1e-6, throwSpeed);
-        if (relErr <= 0.15) {
-            log.debug("[Aim Assist] Using close fallback time: T={} ticks (~{}s), relErr={}%",
-                    String.format("%.2f", bestT),
-                    String.format("%.2f", bestT / ticksPerSecond),
-                    relErr * 100.0);
-            return bestT / ticksPerSecond;
+        double solvedTicks = ProjectilePhysics.solveInterceptTicks(rx, ry, rz, ux, uy, uz,
+                throwSpeed, tGuess, minTicks, maxTicks, maxInterceptError);
+        if (solvedTicks < 0) {
+            log.debug("[Aim Assist] No valid intercept (guess={} ticks)", String.format("%.2f", tGuess));
+            return -1.0;
         }
-
-        log.debug("[Aim Assist] No valid intercept (bestRelErr={}%)", String.format("%.1f", relErr * 100.0));
-        return -1.0;
+        return solvedTicks / ticksPerSecond;
     }
 
-    // Finds required initial vel to hit a target considering gravity
-    private static Vec3d calculateRequiredBallisticVelocity(Vec3d origin, Vec3d target, double flightTimeSeconds) {
-        Vec3d displacement = target.subtract(origin);
+    // Finds required initial vel to hit a target considering gravity and drag
+    static Vec3d calculateRequiredBallisticVelocity(Vec3d origin, Vec3d target, double flightTimeSeconds) {
         double flightTimeTicks = flightTimeSeconds * ticksPerSecond;
 
-        double vx = displacement.x / flightTimeTicks;
-        double vz = displacement.z / flightTimeTicks;
-        double vy = (displacement.y + 0.5 * gravityCalc * flightTimeTicks * flightTimeTicks) / flightTimeTicks;
+        double vx = ProjectilePhysics.launchVelocity(target.x - origin.x, flightTimeTicks);
+        double vy = ProjectilePhysics.launchVelocityY(target.y - origin.y, flightTimeTicks);
+        double vz = ProjectilePhysics.launchVelocity(target.z - origin.z, flightTimeTicks);
 
         return new Vec3d(vx, vy, vz);
     }
@@ -300,7 +220,7 @@ public final class AimHelper {
     }
 
     // Target info
-    private record TargetInfo(LivingEntity entity, Vec3d currentPos, Vec3d predictedPos, double distance, double angle,
+    record TargetInfo(LivingEntity entity, Vec3d currentPos, Vec3d predictedPos, double distance, double angle,
                               double confidence, double interceptTime) {
     }
 
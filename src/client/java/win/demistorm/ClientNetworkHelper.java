@@ -1,9 +1,17 @@
 package win.demistorm;
 
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.sound.SoundCategory;
 import net.minecraft.util.math.Vec3d;
-import org.joml.Quaternionfc;
+import win.demistorm.config.ClientOnlyConfig;
+import win.demistorm.network.EffectBus;
 import win.demistorm.network.NetworkHelper;
+import win.demistorm.particles.BleedingParticle;
+import win.demistorm.particles.BloodParticle;
+
+import java.util.List;
 
 import static win.demistorm.VRThrowingExtensions.log;
 
@@ -11,9 +19,74 @@ import static win.demistorm.VRThrowingExtensions.log;
 public final class ClientNetworkHelper {
     private ClientNetworkHelper() {}
 
-    public static void sendToServer(Vec3d pos, Vec3d velocity, boolean wholeStack, float rollDeg) {
+    // Merged effects beyond this count just play a few extra bursts
+    private static final int maxRepeats = 3;
+
+    private static final double nanosPerTick = 50_000_000.0;
+    private static int throwSequence = 0; // Lets the server drop duplicated or reordered throws
+
+    // Register client packet handlers
+    public static void init() {
+        ClientPlayNetworking.registerGlobalReceiver(
+                NetworkHelper.EffectBundlePacket.ID,
+                (payload, context) -> context.client().execute(() -> handleEffectBundle(payload)));
+        // Server refused a throw, undo the prediction
+        ClientPlayNetworking.registerGlobalReceiver(
+                NetworkHelper.ThrowRejectPacket.ID,
+                (payload, context) -> context.client().execute(() -> GhostProjectiles.reject(payload.seq())));
+    }
+
+    // Plays every effect the server collected for us this tick
+    private static void handleEffectBundle(NetworkHelper.EffectBundlePacket payload) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.world == null) return;
+        boolean blood = ClientOnlyConfig.ACTIVE.bloodEffect;
+
+        List<NetworkHelper.EffectBundlePacket.Effect> effects = payload.effects();
+        for (int i = 0; i < effects.size(); i++) {
+            NetworkHelper.EffectBundlePacket.Effect e = effects.get(i);
+            int detail = payload.detail()[i];
+            int repeats = Math.min(e.count(), maxRepeats);
+
+            switch (e.kind()) {
+                case EffectBus.KIND_BLOOD -> {
+                    if (!blood) continue;
+                    Vec3d pos = new Vec3d(e.x(), e.y(), e.z());
+                    Vec3d vel = new Vec3d(e.vx(), e.vy(), e.vz());
+                    for (int r = 0; r < repeats; r++) BloodParticle.spawnBloodParticles(pos, vel, detail);
+                }
+                case EffectBus.KIND_BLEED -> {
+                    if (!blood) continue;
+                    Vec3d pos = new Vec3d(e.x(), e.y(), e.z());
+                    for (int r = 0; r < repeats; r++) BleedingParticle.spawnBleedTrickle(pos, detail);
+                }
+                case EffectBus.KIND_SOUND -> {
+                    EffectBus.Sound sound = EffectBus.Sound.byIndex(e.sound());
+                    if (sound == null) continue;
+                    client.world.playSoundClient(e.x(), e.y(), e.z(), sound.event, SoundCategory.PLAYERS,
+                            sound.volume, sound.pitch, false);
+                }
+                default -> log.debug("ClientNetworkHelper: Unknown effect kind {}", e.kind());
+            }
+        }
+    }
+
+    // releaseAgeNanos = how long ago the throw was actually let go, the server catches the projectile up by it
+    // Returns the throw's sequence number, -1 if nothing was sent
+    public static int sendToServer(Vec3d pos, Vec3d velocity, boolean wholeStack, float rollDeg, long releaseAgeNanos) {
         log.debug("ClientNetworkHelper: Sending throw. pos={} vel={} all={}", pos, velocity, wholeStack);
-        ClientPlayNetworking.send(new NetworkHelper.ThrowPacket(pos, velocity, wholeStack, rollDeg));
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        if (player == null) return -1;
+
+        // Release time on our tick clock, the server lines this up with its own
+        double releaseAt = player.getWorld().getTime() - Math.max(0L, releaseAgeNanos) / nanosPerTick;
+        int releaseTick = (int) Math.floor(releaseAt);
+        float releaseFraction = (float) (releaseAt - Math.floor(releaseAt));
+
+        int seq = throwSequence++;
+        ClientPlayNetworking.send(new NetworkHelper.ThrowPacket(pos, velocity, wholeStack,
+                rollDeg, seq, releaseTick, releaseFraction));
+        return seq;
     }
 
     public static void sendCatchToServer(ThrownProjectileEntity entity, boolean startCatch) {
@@ -21,21 +94,11 @@ public final class ClientNetworkHelper {
         ClientPlayNetworking.send(new NetworkHelper.CatchPacket(entity.getId(), startCatch));
     }
 
-    public static void sendCatchUpdateToServer(ThrownProjectileEntity entity, Vec3d newVelocity, Quaternionfc handRotation) {
-        // Calculate hand roll from quaternionfc (same logic as throwing)
-        org.joml.Vector3f fwd = new org.joml.Vector3f(0, 0, -1).rotate(handRotation).normalize();
-        org.joml.Vector3f up  = new org.joml.Vector3f(0, 1,  0).rotate(handRotation).normalize();
-
-        org.joml.Vector3f projCtrlUp  = up .sub(new org.joml.Vector3f(fwd).mul(up .dot(fwd))).normalize();
-        org.joml.Vector3f projWorldUp = new org.joml.Vector3f(0, 1, 0)
-                .sub(new org.joml.Vector3f(fwd).mul(fwd.y)).normalize();
-
-        float rollRad = projCtrlUp.angleSigned(projWorldUp, fwd);
-        float rollDeg = (float) Math.toDegrees(rollRad);
-
-        log.debug("ClientNetworkHelper: Sending catch update. entity={} vel={} roll={}",
-                entity.getId(), newVelocity, rollDeg);
-        ClientPlayNetworking.send(new NetworkHelper.CatchUpdatePacket(entity.getId(), newVelocity, rollDeg));
+    // Hand anchor for the server side magnet, handOffset is relative to the player
+    public static void sendCatchUpdateToServer(ThrownProjectileEntity entity, Vec3d handOffset, float rollDeg) {
+        log.debug("ClientNetworkHelper: Sending catch anchor. entity={} offset={} roll={}",
+                entity.getId(), handOffset, rollDeg);
+        ClientPlayNetworking.send(new NetworkHelper.CatchUpdatePacket(entity.getId(), handOffset, rollDeg));
     }
 
     public static void sendCatchCompleteToServer(ThrownProjectileEntity entity) {
@@ -0,0 +1,236 @@
+package win.demistorm;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.client.render.entity.EntityRenderDispatcher;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.Hand;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.RaycastContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Client-side predicted projectiles. A ghost appears the moment a throw is released, flies with the same
+// physics as the real projectile, and is blended into the real one once the server spawns it (matched by
+// throw sequence). If the server rejects the throw the ghost is removed and the hand change undone.
+// Ghosts are ThrownProjectileEntity instances that never join the world, drawn through ThrownItemRenderer.
+public final class GhostProjectiles {
+
+    private static final int maxUnmatchedTicks = 20;   // Give up on a match after this long (lost packet)
+    private static final int blendTicks = 4;           // Ghost -> real entity handoff
+    private static final int candidateTicks = 5;       // How long a new projectile waits for its tracked seq
+    private static final double tickNanos = 50_000_000.0;
+    private static final double maxCatchUpTicks = 4.0;  // Same cap the server puts on its catch up
+
+    private static final List<Ghost> GHOSTS = new ArrayList<>();
+    private static final List<Candidate> CANDIDATES = new ArrayList<>();
+
+    private static final class Ghost {
+        final int seq;
+        final ThrownProjectileEntity entity;
+        final ItemStack handBefore;    // Main hand before the throw, restored on reject
+        final ItemStack handPredicted; // What we left in the hand
+        Vec3d simPos;
+        Vec3d simVel;
+        boolean stuck = false;
+        int age = 0;
+        ThrownProjectileEntity real = null;
+        int blend = 0;
+
+        Ghost(int seq, ThrownProjectileEntity entity, ItemStack handBefore, ItemStack handPredicted,
+              Vec3d pos, Vec3d vel) {
+            this.seq = seq;
+            this.entity = entity;
+            this.handBefore = handBefore;
+            this.handPredicted = handPredicted;
+            this.simPos = pos;
+            this.simVel = vel;
+        }
+    }
+
+    private record Candidate(ThrownProjectileEntity entity, int loadedAt) {}
+
+    public static void init() {
+        ClientEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            // Tracked data (the seq) lands right after the spawn, so it's checked on the next tick
+            if (entity instanceof ThrownProjectileEntity proj && !GHOSTS.isEmpty()) {
+                CANDIDATES.add(new Candidate(proj, proj.age));
+            }
+        });
+
+        ClientTickEvents.END_CLIENT_TICK.register(client -> tick(client.player));
+
+        WorldRenderEvents.AFTER_ENTITIES.register(context -> {
+            if (GHOSTS.isEmpty() || context.matrixStack() == null || context.consumers() == null) return;
+            EntityRenderDispatcher dispatcher = MinecraftClient.getInstance().getEntityRenderDispatcher();
+            Vec3d cam = context.camera().getPos();
+            float tickDelta = context.tickCounter().getTickProgress(false);
+            for (Ghost g : GHOSTS) {
+                Vec3d p = g.entity.getLerpedPos(tickDelta);
+                dispatcher.render(g.entity, p.x - cam.x, p.y - cam.y, p.z - cam.z, tickDelta,
+                        context.matrixStack(), context.consumers(), dispatcher.getLight(g.entity, tickDelta));
+            }
+        });
+
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            GHOSTS.clear();
+            CANDIDATES.clear();
+        });
+    }
+
+    // Starts a ghost for a throw that was just sent, and takes the thrown items out of the hand right away.
+    // releaseTime is the frame the hand let go (System.nanoTime), the ghost starts that far into its flight
+    public static void spawn(ClientPlayerEntity player, int seq, Vec3d origin, Vec3d velocity, float rollDeg,
+                             boolean wholeStack, long releaseTime) {
+        ClientWorld world = (ClientWorld) player.getWorld();
+        ItemStack held = player.getMainHandStack();
+        if (held.isEmpty()) return;
+
+        ThrownProjectileEntity ghost = new ThrownProjectileEntity(VRThrowingExtensions.THROWN_ITEM_TYPE, world);
+        ghost.setItem(held.copyWithCount(1));
+        ghost.setHandRoll(rollDeg);
+        ghost.setVelocity(velocity);
+        ghost.setPosition(origin);
+
+        // Same change handleThrow makes, the server's slot update confirms it
+        ItemStack before = held.copy();
+        ItemStack after = wholeStack ? ItemStack.EMPTY : held.copyWithCount(held.getCount() - 1);
+        player.setStackInHand(Hand.MAIN_HAND, after);
+
+        Ghost g = new Ghost(seq, ghost, before, after.copy(), origin, velocity);
+
+        // The tick loop noticed the release up to a tick after it happened, and the server's catchUp flies the
+        // real one for that time too, so the ghost makes up the same flight before it's first drawn
+        double remaining = Math.min(maxCatchUpTicks, (System.nanoTime() - releaseTime) / tickNanos);
+        while (remaining > 1.0e-3 && !g.stuck) {
+            double step = Math.min(1.0, remaining);
+            remaining -= step;
+            simulate(g, step);
+        }
+        ghost.setPosition(g.simPos);
+        ghost.setVelocity(g.simVel);
+        ghost.resetPosition();
+
+        GHOSTS.add(g);
+    }
+
+    // True while a ghost is standing in for this entity, so it isn't drawn twice
+    public static boolean hides(ThrownProjectileEntity entity) {
+        for (int i = 0; i < GHOSTS.size(); i++) {
+            if (GHOSTS.get(i).real == entity) return true;
+        }
+        // Ours but not matched yet (seq not synced), hide it for that tick too
+        for (int i = 0; i < CANDIDATES.size(); i++) {
+            if (CANDIDATES.get(i).entity() == entity) return entity.getOwner() == MinecraftClient.getInstance().player;
+        }
+        return false;
+    }
+
+    private static void tick(ClientPlayerEntity player) {
+        if (GHOSTS.isEmpty()) {
+            CANDIDATES.clear();
+            return;
+        }
+        if (player == null) {
+            GHOSTS.clear();
+            CANDIDATES.clear();
+            return;
+        }
+
+        matchCandidates(player);
+
+        for (int i = GHOSTS.size() - 1; i >= 0; i--) {
+            Ghost g = GHOSTS.get(i);
+            g.age++;
+            simulate(g, 1.0);
+
+            Vec3d shown = g.simPos;
+            if (g.real != null) {
+                if (g.real.isRemoved() || ++g.blend >= blendTicks) {
+                    GHOSTS.remove(i); // Real entity takes over from here
+                    continue;
+                }
+                // Slide from our prediction onto the authoritative position
+                double w = (double) g.blend / blendTicks;
+                shown = g.simPos.lerp(g.real.getPos(), w);
+            } else if (g.age > maxUnmatchedTicks) {
+                log.debug("[Ghost] No projectile for throw {}, dropping the ghost", g.seq);
+                GHOSTS.remove(i);
+                continue;
+            }
+
+            g.entity.resetPosition();
+            g.entity.setPosition(shown);
+            g.entity.setVelocity(g.simVel);
+            g.entity.age++;
+        }
+    }
+
+    // One tick of ThrownEntity physics: gravity, drag, move, stopping at the first block in the way.
+    // A partial step only moves, like the last step of ThrownProjectileEntity.catchUp
+    private static void simulate(Ghost g, double step) {
+        if (g.stuck) return;
+        Vec3d vel = g.simVel;
+        if (step >= 1.0) vel = vel.add(0, -ProjectilePhysics.gravity, 0).multiply(ProjectilePhysics.drag);
+        Vec3d next = g.simPos.add(vel.multiply(step));
+
+        HitResult hit = g.entity.getWorld().raycast(new RaycastContext(g.simPos, next,
+                RaycastContext.ShapeType.COLLIDER, RaycastContext.FluidHandling.NONE, g.entity));
+        if (hit.getType() != HitResult.Type.MISS) {
+            next = hit.getPos();
+            g.stuck = true; // The real one decides what happens next
+        }
+        g.simPos = next;
+        g.simVel = vel;
+    }
+
+    private static void matchCandidates(ClientPlayerEntity player) {
+        for (int i = CANDIDATES.size() - 1; i >= 0; i--) {
+            Candidate c = CANDIDATES.get(i);
+            ThrownProjectileEntity proj = c.entity();
+            int seq = proj.getThrowSeq();
+
+            if (proj.isRemoved() || (seq < 0 && proj.age - c.loadedAt() > candidateTicks)) {
+                CANDIDATES.remove(i);
+                continue;
+            }
+            if (seq < 0) continue;
+
+            CANDIDATES.remove(i);
+            if (proj.getOwner() != player) continue;
+            for (Ghost g : GHOSTS) {
+                if (g.seq == seq && g.real == null) {
+                    g.real = proj;
+                    break;
+                }
+            }
+        }
+    }
+
+    // Server didn't spawn it: drop the ghost and give the items back if the hand still looks like we left it
+    static void reject(int seq) {
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        for (int i = 0; i < GHOSTS.size(); i++) {
+            Ghost g = GHOSTS.get(i);
+            if (g.seq != seq) continue;
+            GHOSTS.remove(i);
+
+            if (player != null && ItemStack.areEqual(player.getMainHandStack(), g.handPredicted)) {
+                player.setStackInHand(Hand.MAIN_HAND, g.handBefore);
+            }
+            log.debug("[Ghost] Throw {} rejected, rolled back", seq);
+            return;
+        }
+    }
+
+    private GhostProjectiles() {}
+}
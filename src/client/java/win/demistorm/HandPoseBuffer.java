@@ -0,0 +1,107 @@
+package win.demistorm;
+
+// Fixed-size ring of main hand samples recorded every rendered frame (headset rate), primitives only.
+// The tick history Vivecraft keeps averages over whole ticks, this lets the release look at just the
+// last few frames of the flick.
+public final class HandPoseBuffer {
+
+    private static final int capacity = 64;                  // ~0.4s at 144 Hz, far more than a fit needs
+    private static final long fitWindowNanos = 60_000_000L;  // Look back this far for the release velocity
+    private static final long minSpanNanos = 15_000_000L;    // Need at least this much motion history to trust a fit
+    private static final int minSamples = 3;
+    private static final double minWeight = 0.25;            // Oldest sample in the window still counts this much
+    private static final double ticksPerSecond = 20.0;
+
+    private final long[] time = new long[capacity];
+    private final double[] x = new double[capacity];
+    private final double[] y = new double[capacity];
+    private final double[] z = new double[capacity];
+    private final float[] roll = new float[capacity];
+    private int head = 0;  // Next write
+    private int count = 0;
+
+    public void record(long nanos, double px, double py, double pz, float rollDeg) {
+        time[head] = nanos;
+        x[head] = px;
+        y[head] = py;
+        z[head] = pz;
+        roll[head] = rollDeg;
+        head = (head + 1) % capacity;
+        if (count < capacity) count++;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    // Roll of the newest sample at or before until, NaN if there's nothing recent
+    public float rollAt(long until) {
+        int i = (head - 1 + capacity) % capacity;
+        for (int k = 0; k < count; k++, i = (i - 1 + capacity) % capacity) {
+            if (time[i] > until) continue;
+            return until - time[i] <= fitWindowNanos ? roll[i] : Float.NaN;
+        }
+        return Float.NaN;
+    }
+
+    // Weighted least-squares slope of position over the fitWindow ending at until (the release), newest
+    // samples weigh the most. Frames after until are ignored, the hand is already slowing down there.
+    // Writes blocks per tick (same units as VRPoseHistory.averageVelocity) into out, false if too few samples.
+    public boolean estimateVelocity(long until, double[] out) {
+        if (count < minSamples) return false;
+        int newest = (head - 1 + capacity) % capacity;
+        int skipped = 0;
+        while (time[newest] > until && skipped < count) {
+            newest = (newest - 1 + capacity) % capacity;
+            skipped++;
+        }
+        int available = count - skipped;
+        if (available < minSamples) return false;
+        if (until - time[newest] > fitWindowNanos) return false; // Stopped recording (left VR, paused)
+
+        // Weighted means, times in seconds relative to the newest sample
+        double sw = 0, st = 0, sx = 0, sy = 0, sz = 0;
+        int used = 0;
+        long oldest = time[newest];
+        for (int k = 0; k < available; k++) {
+            int i = (newest - k + capacity) % capacity;
+            long age = time[newest] - time[i];
+            if (age > fitWindowNanos) break;
+            double w = weight(age);
+            double t = -age * 1e-9;
+            sw += w;
+            st += w * t;
+            sx += w * x[i];
+            sy += w * y[i];
+            sz += w * z[i];
+            oldest = time[i];
+            used++;
+        }
+        if (used < minSamples || time[newest] - oldest < minSpanNanos) return false;
+
+        double mt = st / sw, mx = sx / sw, my = sy / sw, mz = sz / sw;
+        double stt = 0, stx = 0, sty = 0, stz = 0;
+        for (int k = 0; k < used; k++) {
+            int i = (newest - k + capacity) % capacity;
+            long age = time[newest] - time[i];
+            double w = weight(age);
+            double dt = -age * 1e-9 - mt;
+            stt += w * dt * dt;
+            stx += w * dt * (x[i] - mx);
+            sty += w * dt * (y[i] - my);
+            stz += w * dt * (z[i] - mz);
+        }
+        if (stt <= 0) return false;
+
+        // Slope is blocks per second
+        out[0] = stx / stt / ticksPerSecond;
+        out[1] = sty / stt / ticksPerSecond;
+        out[2] = stz / stt / ticksPerSecond;
+        return true;
+    }
+
+    // Linear ramp from 1 (newest) down to minWeight at the edge of the window
+    private static double weight(long age) {
+        return 1.0 - (1.0 - minWeight) * ((double) age / fitWindowNanos);
+    }
+}
@@ -6,9 +6,9 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.text.Text;
 import net.minecraft.util.Hand;
 import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import org.joml.Quaternionfc;
-import org.joml.Vector3f;
 import org.vivecraft.api.VRAPI;
 import org.vivecraft.api.client.Tracker;
 import org.vivecraft.api.client.VRClientAPI;
@@ -16,6 +16,8 @@ import org.vivecraft.api.data.VRBodyPart;
 import org.vivecraft.api.data.VRBodyPartData;
 import org.vivecraft.api.data.VRPose;
 import org.vivecraft.api.data.VRPoseHistory;
+import win.demistorm.effects.CatchEffect;
+
 import java.util.Comparator;
 import static win.demistorm.VRThrowingExtensions.log;
 
@@ -32,6 +34,8 @@ public class ThrowHelper {
     private static ThrownProjectileEntity targetProjectile = null; // The projectile being caught
     private static int ticksHeld  = 0;                       // How long trigger is pressed
     private static int catchTicksHeld = 0;                   // How long trigger is pressed for catching
+    private static Vec3d lastSentAnchor = null;              // Last hand anchor sent to the server (relative to player)
+    private static float lastSentRoll = 0f;                  // Last hand roll sent to the server
 
     // Tunables
     private static final double minThrowDistance        = 0.08; // Min arm movement to activate throw
@@ -47,7 +51,8 @@ public class ThrowHelper {
 
     // Catching tunables
     private static final double catchMaxDistance        = 3.0;  // Max distance to start catching (in blocks)
-    private static final double catchMagnetStrength     = 0.10; // Magnetizing effect strength
+    private static final double anchorResendDistance    = 0.1;  // Hand movement before resending the anchor (blocks)
+    private static final float  anchorResendRoll        = 5.0f; // Hand roll change before resending the anchor (degrees)
     private static final double catchCompletionDistance = 0.2;  // Distance to complete catch
     private static final int    minCatchTicks           = 3;    // Minimum ticks to hold before catch completes
 
@@ -57,6 +62,48 @@ public class ThrowHelper {
     public static boolean cancellingBreaks() { return (active && cancelBreaking) || catchActive; }
     public static boolean cancellingUse   () { return active; } // Always cancel place/use while throwing is active
 
+    // Per-frame main hand samples for the release velocity
+    private static final HandPoseBuffer HAND_SAMPLES = new HandPoseBuffer();
+    private static final double[] releaseVel = new double[3];
+    private static boolean framePressed = false;  // Attack key as of the last frame
+    private static long releaseNanos = 0L;        // Frame the attack key was let go on
+    private static final long maxReleaseAgeNanos = 100_000_000L; // Older than this and the tick is used instead
+
+    // Records the main hand every rendered frame, ThrowTracker only runs per tick
+    public static class HandSampleTracker implements Tracker {
+        @Override
+        public ProcessType processType() {
+            return ProcessType.PER_FRAME;
+        }
+
+        @Override
+        public boolean isActive(ClientPlayerEntity player) {
+            return player != null && VRAPI.instance().isVRPlayer(player);
+        }
+
+        @Override
+        public void activeProcess(ClientPlayerEntity player) {
+            VRPose pose = VRClientAPI.instance().getWorldRenderPose();
+            if (pose == null) return;
+            VRBodyPartData hand = pose.getHand(Hand.MAIN_HAND);
+            if (hand == null) return;
+
+            long now = System.nanoTime();
+            Vec3d pos = hand.getPos();
+            HAND_SAMPLES.record(now, pos.x, pos.y, pos.z, handRollDegrees(hand.getRotation()));
+
+            // The tick only notices the release up to 50 ms later, remember the frame it happened on
+            boolean pressed = MinecraftClient.getInstance().options.attackKey.isPressed();
+            if (framePressed && !pressed) releaseNanos = now;
+            framePressed = pressed;
+        }
+
+        @Override
+        public void inactiveProcess(ClientPlayerEntity player) {
+            HAND_SAMPLES.clear();
+        }
+    }
+
     // Throwing logic utilizing Vivecraft's Tracker system
     public static class ThrowTracker implements Tracker {
         @Override
@@ -105,6 +152,7 @@ public class ThrowHelper {
                 active = true;
                 throwWholeStack = placePressed;    // Throws the whole stack if pressed
                 cancelBreaking = false;            // Doesn't cancel breaking until speed is too fast
+                if (ConfigHelper.CLIENT.aimAssist) AimCandidateTracker.begin();
                 log.debug("[VR Throw] Hold trace started with item: {} at relative pos: {}", heldItem, relativeStartPoint);
             }
 
@@ -113,6 +161,12 @@ public class ThrowHelper {
                 ticksHeld        = Math.min(ticksHeld + 1, maxPoseHistoryTicks);
                 throwWholeStack |= placePressed;         // Throws whole stack
 
+                // Narrow down aim assist targets ahead of the release
+                VRPose headPose = VRClientAPI.instance().getPreTickWorldPose();
+                if (headPose != null && headPose.getHead() != null) {
+                    AimCandidateTracker.tick(player, headPose.getHead().getPos());
+                }
+
                 // Checks arm speed to determine if it should cancel block breaking
                 if (!cancelBreaking) {
                     VRPoseHistory hist = VRAPI.instance().getHistoricalVRPoses(player);
@@ -129,6 +183,7 @@ public class ThrowHelper {
             // Released Attack/Destroy, sends throw packet
             else if (active) {
                 if (ticksHeld >= 5) {
+                    long releaseTime = releaseTime();
                     VRPoseHistory history = VRAPI.instance().getHistoricalVRPoses(player);
                     if (history != null) {
                         int usedTicks = Math.min(ticksHeld, maxPoseHistoryTicks);
@@ -144,7 +199,7 @@ public class ThrowHelper {
 
                         if (relativeMovedDist > minThrowDistance) {
                             // Subtract horizontal movement from velocity
-                            Vec3d rawHandVel = history.averageVelocity(VRBodyPart.MAIN_HAND, usedTicks);
+                            Vec3d rawHandVel = releaseVelocity(history, usedTicks, releaseTime);
                             Vec3d playerHorizontalVel = new Vec3d(player.getVelocity().x, 0, player.getVelocity().z);
                             assert rawHandVel != null;
                             Vec3d relativeVel = rawHandVel.subtract(playerHorizontalVel);
@@ -161,17 +216,17 @@ public class ThrowHelper {
                                 VRPose pose = VRClientAPI.instance().getPreTickWorldPose();
                                 assert pose != null;
                                 VRBodyPartData hand = pose.getHand(Hand.MAIN_HAND);
-                                Quaternionfc q = hand.getRotation();
-                                Vector3f fwd = new Vector3f(0, 0, -1).rotate(q).normalize();
-                                Vector3f up  = new Vector3f(0, 1,  0).rotate(q).normalize();
-                                Vector3f projCtrlUp  = up .sub(new Vector3f(fwd).mul(up .dot(fwd))).normalize();
-                                Vector3f projWorldUp = new Vector3f(0, 1, 0)
-                                        .sub(new Vector3f(fwd).mul(fwd.y)).normalize();
-                                float rollRad = projCtrlUp.angleSigned(projWorldUp, fwd);
-                                float rollDeg = (float) Math.toDegrees(rollRad);
+                                float rollDeg = HAND_SAMPLES.rollAt(releaseTime);
+                                if (Float.isNaN(rollDeg)) rollDeg = handRollDegrees(hand.getRotation());
 
                                 // Send throw to server
-                                ClientNetworkHelper.sendToServer(origin, assistedVel, throwWholeStack, rollDeg);
+                                int seq = ClientNetworkHelper.sendToServer(origin, assistedVel, throwWholeStack,
+                                        rollDeg, System.nanoTime() - releaseTime);
+                                // Show it flying now instead of after the round trip
+                                if (seq >= 0) {
+                                    GhostProjectiles.spawn(player, seq, origin, assistedVel, rollDeg, throwWholeStack,
+                                            releaseTime);
+                                }
 
                                 // DEBUG
                                 if (VRThrowingExtensions.debugMode) {
@@ -210,8 +265,23 @@ public class ThrowHelper {
         }
     }
 
+    // Hand velocity at release: a fit over the last few frames when they're there,
+    // otherwise the tick history average like before
+    private static Vec3d releaseVelocity(VRPoseHistory history, int usedTicks, long releaseTime) {
+        if (HAND_SAMPLES.estimateVelocity(releaseTime, releaseVel)) {
+            return new Vec3d(releaseVel[0], releaseVel[1], releaseVel[2]);
+        }
+        return history.averageVelocity(VRBodyPart.MAIN_HAND, usedTicks);
+    }
+
+    // When the throw was actually let go, the frame if it was seen recently, otherwise now
+    private static long releaseTime() {
+        long now = System.nanoTime();
+        return now - releaseNanos <= maxReleaseAgeNanos ? releaseNanos : now;
+    }
+
     // Dynamic velocity multiplier with smooth curve
-    private static double calculateVelocityMultiplier(double velocity) {
+    static double calculateVelocityMultiplier(double velocity) {
         // Below weak threshold → always weak multiplier
         if (velocity <= weakVelThreshold) {
             return weakMultiplier;
@@ -271,7 +341,7 @@ public class ThrowHelper {
             }
 
             catchTicksHeld++;
-            updateCatchMagnetism(handPos, hand.getRotation());
+            updateCatchMagnetism(player, handPos, hand.getRotation());
 
             // Check if projectile is close enough to complete catch
             double distanceToHand = targetProjectile.getPos().distanceTo(handPos);
@@ -317,24 +387,55 @@ public class ThrowHelper {
     }
 
     // Updates magnetism effect during catch
-    private static void updateCatchMagnetism(Vec3d handPos, Quaternionfc handRotation) {
+    // The server runs the magnet itself, we only predict it locally and send the hand when it moved enough
+    private static void updateCatchMagnetism(ClientPlayerEntity player, Vec3d handPos, Quaternionfc handRotation) {
         if (targetProjectile == null) return;
 
-        Vec3d projectilePos = targetProjectile.getPos();
-        Vec3d toHand = handPos.subtract(projectilePos);
-        double distance = toHand.length();
-
-        if (distance > 0.001) {
-            // Apply magnetizing effect
-            Vec3d magnetEffect = toHand.normalize().multiply(catchMagnetStrength);
-            Vec3d currentVel = targetProjectile.getVelocity();
-            Vec3d newVel = currentVel.multiply(0.6).add(magnetEffect); // Blend with current velocity
-
-            // Send updated velocity to server
-            ClientNetworkHelper.sendCatchUpdateToServer(targetProjectile, newVel, handRotation);
+        // Local prediction so the completion check sees the projectile coming in
+        targetProjectile.setVelocity(CatchEffect.pull(
+                targetProjectile.getPos(), targetProjectile.getVelocity(), handPos));
+
+        Vec3d anchor = handPos.subtract(player.getPos());
+        float rollDeg = handRollDegrees(handRotation);
+        if (lastSentAnchor == null
+                || anchor.squaredDistanceTo(lastSentAnchor) > anchorResendDistance * anchorResendDistance
+                || Math.abs(MathHelper.wrapDegrees(rollDeg - lastSentRoll)) > anchorResendRoll) {
+            ClientNetworkHelper.sendCatchUpdateToServer(targetProjectile, anchor, rollDeg);
+            lastSentAnchor = anchor;
+            lastSentRoll = rollDeg;
         }
     }
 
+    // Hand roll around its forward axis relative to world up, in degrees.
+    // Same result as projecting the controller up and world up onto the plane of forward and taking the signed angle,
+    // without the JOML vector allocations.
+    static float handRollDegrees(Quaternionfc q) {
+        float x = q.x(), y = q.y(), z = q.z(), w = q.w();
+
+        // Forward (0, 0, -1) and up (0, 1, 0) rotated by q
+        float fx = -2f * (x * z + w * y);
+        float fy = -2f * (y * z - w * x);
+        float fz = -(1f - 2f * (x * x + y * y));
+        float fLen = (float) Math.sqrt(fx * fx + fy * fy + fz * fz);
+        fx /= fLen;
+        fy /= fLen;
+        fz /= fLen;
+        float ux = 2f * (x * y - w * z);
+        float uy = 1f - 2f * (x * x + z * z);
+        float uz = 2f * (y * z + w * x);
+
+        // Controller up and world up with the forward component removed (atan2 doesn't need them normalized)
+        float d = ux * fx + uy * fy + uz * fz;
+        float ax = ux - fx * d, ay = uy - fy * d, az = uz - fz * d;
+        float bx = -fx * fy, by = 1f - fy * fy, bz = -fz * fy;
+
+        // Signed angle from a to b around forward
+        float cx = ay * bz - az * by;
+        float cy = az * bx - ax * bz;
+        float cz = ax * by - ay * bx;
+        return (float) Math.toDegrees(Math.atan2(cx * fx + cy * fy + cz * fz, ax * bx + ay * by + az * bz));
+    }
+
     // Completes the catch, adding item to player inventory
     private static void completeCatch() {
         if (targetProjectile == null) return;
@@ -377,6 +478,7 @@ public class ThrowHelper {
         catchActive = false;
         targetProjectile = null;
         catchTicksHeld = 0;
+        lastSentAnchor = null;
     }
 
     // Resets throw variables
@@ -387,5 +489,6 @@ public class ThrowHelper {
         relativeStartPoint = Vec3d.ZERO;  // NEW: Reset relative tracking
         heldItem = ItemStack.EMPTY;
         ticksHeld = 0;
+        AimCandidateTracker.end();
     }
 }
\ No newline at end of file
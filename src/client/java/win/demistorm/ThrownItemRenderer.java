@@ -1,6 +1,7 @@
 package win.demistorm;
 
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.Frustum;
 import net.minecraft.client.render.VertexConsumerProvider;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -29,6 +30,13 @@ public class ThrownItemRenderer extends EntityRenderer<ThrownProjectileEntity, T
         this.shadowOpacity = 0.5f; // Shadow opacity
     }
 
+    @Override
+    public boolean shouldRender(ThrownProjectileEntity entity, Frustum frustum, double x, double y, double z) {
+        // A predicted ghost is drawn in its place until the handoff is done
+        if (GhostProjectiles.hides(entity)) return false;
+        return super.shouldRender(entity, frustum, x, y, z);
+    }
+
     @Override
     public ThrownItemRenderState createRenderState() {
         return new ThrownItemRenderState();
@@ -8,8 +8,8 @@ import net.fabricmc.fabric.api.event.player.UseItemCallback;
 import net.minecraft.util.ActionResult;
 import org.vivecraft.api.client.VRClientAPI;
 import win.demistorm.config.ClientConfigHelper;
-import win.demistorm.particles.BleedingParticle;
-import win.demistorm.particles.BloodParticle;
+import win.demistorm.particles.BloodParticlePool;
+import win.demistorm.particles.FrameBudget;
 
 import static win.demistorm.VRThrowingExtensions.log;
 
@@ -21,9 +21,16 @@ public class VRThrowingExtensionsClient implements ClientModInitializer {
 		log.info("VR Throwing Extensions (CLIENT) starting!");
 		// Load config
 		ClientConfigHelper.init();
-		// Initialize blood effects
-		BloodParticle.init();
-		BleedingParticle.init();
+		// Effect bundle handler (blood, bleed and sounds)
+		ClientNetworkHelper.init();
+		// Aim assist candidates, fed by entity load/unload
+		AimCandidateTracker.init();
+		// Predicted projectiles shown until the server's one arrives
+		GhostProjectiles.init();
+		// Pooled blood particles, ticked and drawn in one batch
+		BloodParticlePool.init();
+		// Frame time tracking for the blood particle budget
+		FrameBudget.init();
 		// Register the throwing tracker (replaces init and client tick event)
 		registerTracker();
 		// Well you can see what this does, it's right under here
@@ -37,8 +44,11 @@ public class VRThrowingExtensionsClient implements ClientModInitializer {
 
 	// Register the tracker with Vivecraft
 	private static void registerTracker() {
-		VRClientAPI.instance().addClientRegistrationHandler(event ->
-				event.registerTrackers(new ThrowHelper.ThrowTracker()));
+		VRClientAPI.instance().addClientRegistrationHandler(event -> {
+			event.registerTrackers(new ThrowHelper.ThrowTracker());
+			event.registerTrackers(new ThrowHelper.HandSampleTracker()); // Per-frame hand samples for releases
+			event.registerTrackers(new FrameBudget.FrameTracker()); // Headset frame times for the particle budget
+		});
 	}
 
 	// Cancel block breaking and placing/using when throwing is active
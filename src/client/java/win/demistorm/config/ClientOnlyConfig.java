@@ -12,6 +12,9 @@ public final class ClientOnlyConfig {
 
     public static final class Data {
         public boolean bloodEffect = false;
+        // Flat screen frame rate target, blood effects back off when rendering takes longer than this allows.
+        // In VR the headset's refresh rate is measured instead (this is only used until it is)
+        public int targetFrameRate = 60;
     }
 
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
@@ -24,6 +27,7 @@ public final class ClientOnlyConfig {
         Data d = read();
         write(d);
         ACTIVE.bloodEffect = d.bloodEffect;
+        ACTIVE.targetFrameRate = d.targetFrameRate;
     }
 
     private static Data read() {
@@ -2,31 +2,16 @@ package win.demistorm.particles;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
-import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.item.Items;
-import net.minecraft.item.ItemStack;
-import net.minecraft.particle.DustParticleEffect;
-import net.minecraft.particle.ItemStackParticleEffect;
-import net.minecraft.particle.ParticleTypes;
+import net.minecraft.client.render.WorldRenderer;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
-import win.demistorm.config.ClientOnlyConfig;
-import win.demistorm.network.NetworkHelper;
 
 import java.util.concurrent.ThreadLocalRandom;
 
 @Environment(EnvType.CLIENT)
 public final class BleedingParticle {
 
-    public static void init() {
-        ClientPlayNetworking.registerGlobalReceiver(
-                NetworkHelper.BleedParticlePacket.ID,
-                (payload, context) -> {
-                    if (!ClientOnlyConfig.ACTIVE.bloodEffect) return;
-                    context.client().execute(() -> spawnBleedTrickle(payload.pos()));
-                });
-    }
-
     // Tunables for the trickle effect
     private static final int baseCount = 10;
     private static final int countVariation = 4;
@@ -40,17 +25,34 @@ public final class BleedingParticle {
     private static final float dustScaleBase = 0.45f;     // Subtle dust
     private static final float dustScaleVar  = 0.20f;
 
-    private static final double redDyeChance = 0.35;      // Occasionally spawn a heavier droplet
+    private static final double dropletChance = 0.35;     // Share of heavier droplets
+    private static final float dropletSize = 0.04f;       // Billboard half widths
+    private static final float dustSize = 0.1f;
+    private static final int dropletAgeMin = 10;          // Lifetimes in ticks
+    private static final int dropletAgeVariation = 20;
+    private static final int dustAgeBase = 8;             // Divided by a random 0.2..1, like vanilla dust
 
-    private static void spawnBleedTrickle(Vec3d pos) {
+    // Called from the effect bundle handler, detail = percent of the full count (server distance LOD)
+    public static void spawnBleedTrickle(Vec3d pos, int detail) {
         MinecraftClient mc = MinecraftClient.getInstance();
         if (mc.world == null) return;
 
         ThreadLocalRandom rng = ThreadLocalRandom.current();
 
         int count = baseCount + rng.nextInt(-countVariation, countVariation + 1);
+        count = Math.max(1, count * detail / 100); // Server side distance LOD
+
+        // Frame budget has the final say, dust goes first
+        int wantedDroplets = (int) Math.round(count * dropletChance);
+        int wantedDust = FrameBudget.shedMist(count - wantedDroplets);
+        int granted = FrameBudget.claim(pos.x, pos.y, pos.z, wantedDroplets + wantedDust);
+        int droplets = Math.min(granted, wantedDroplets);
+        int dust = granted - droplets;
+        if (droplets + dust == 0) return;
+
+        int light = WorldRenderer.getLightmapCoordinates(mc.world, BlockPos.ofFloored(pos));
 
-        for (int i = 0; i < count; i++) {
+        for (int i = 0; i < droplets + dust; i++) {
             // Small position jitter to avoid a single point emitter
             double ox = rng.nextDouble(-lateralJitter, lateralJitter);
             double oy = rng.nextDouble(-lateralJitter, lateralJitter);
@@ -61,35 +63,23 @@ public final class BleedingParticle {
             double vy = rng.nextDouble(velDownMin, velDownMax);
             double vz = rng.nextDouble(velSideMin, velSideMax);
 
-            // Occasionally spawn a "droplet" using red dye
-            if (rng.nextDouble() < redDyeChance) {
-                mc.world.addParticleClient(
-                        new ItemStackParticleEffect(ParticleTypes.ITEM, new ItemStack(Items.RED_DYE)),
-                        pos.x + ox, pos.y + oy, pos.z + oz,
-                        vx, vy, vz
-                );
+            int bucket = rng.nextInt(BloodParticlePool.paletteSize);
+
+            // Occasionally a heavier droplet
+            if (i < droplets) {
+                BloodParticlePool.add(BloodParticlePool.DROPLET,
+                        pos.x + ox, pos.y + oy, pos.z + oz, vx, vy, vz,
+                        dropletSize, dropletAgeMin + rng.nextInt(dropletAgeVariation), bucket, light);
             } else {
                 // Dark red dust mote
-                int packedColor = packColor(0.6f + rng.nextFloat() * 0.35f, rng.nextFloat() * 0.08f, rng.nextFloat() * 0.06f);
                 float scale = dustScaleBase + (rng.nextFloat() - 0.5f) * dustScaleVar;
-                DustParticleEffect bloodDust = new DustParticleEffect(packedColor, scale);
-
-                mc.world.addParticleClient(
-                        bloodDust,
-                        pos.x + ox, pos.y + oy, pos.z + oz,
-                        vx, vy, vz
-                );
+                int age = (int) (dustAgeBase / (rng.nextFloat() * 0.8f + 0.2f) * scale);
+                BloodParticlePool.add(BloodParticlePool.MIST,
+                        pos.x + ox, pos.y + oy, pos.z + oz, vx, vy, vz,
+                        dustSize * scale, Math.max(4, age), bucket, light);
             }
         }
     }
 
-    // Pack floats [0..1] into 0xRRGGBB
-    private static int packColor(float r, float g, float b) {
-        int ri = Math.max(0, Math.min(255, (int)(r * 255f)));
-        int gi = Math.max(0, Math.min(255, (int)(g * 255f)));
-        int bi = Math.max(0, Math.min(255, (int)(b * 255f)));
-        return (ri << 16) | (gi << 8) | bi;
-    }
-
     private BleedingParticle() {}
 }
@@ -2,33 +2,17 @@ package win.demistorm.particles;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
-import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.item.ItemStack;
-import net.minecraft.item.Items;
-import net.minecraft.particle.DustParticleEffect;
-import net.minecraft.particle.ItemStackParticleEffect;
-import net.minecraft.particle.ParticleTypes;
+import net.minecraft.client.render.WorldRenderer;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
-import win.demistorm.config.ClientOnlyConfig;
-import win.demistorm.network.NetworkHelper;
 
 import java.util.concurrent.ThreadLocalRandom;
 
 @Environment(EnvType.CLIENT)
 public final class BloodParticle {
 
-    // Register client packet handler
-    public static void init() {
-        ClientPlayNetworking.registerGlobalReceiver(
-                NetworkHelper.BloodParticlePacket.ID,
-                (payload, context) -> {
-                    if (!ClientOnlyConfig.ACTIVE.bloodEffect) return;
-                    context.client().execute(() -> spawnBloodParticles(payload.pos(), payload.velocity()));
-                });
-    }
-
     // Tunables
     private static final int particleCount = 32;        // Average droplets per burst
     private static final int particleVariation = 6;     // +/- random count
@@ -49,120 +33,103 @@ public final class BloodParticle {
     // Particle scale
     private static final float scaleBase = 1.0f;            // Base size
     private static final float scaleVariation = 0.4f;       // +/- random size
+    private static final float dropletSize = 0.05f;         // Billboard half width at scale 1
+    private static final float mistSize = 0.1f;
 
-    private static void spawnBloodParticles(Vec3d pos, Vec3d velocity) {
+    // Lifetimes in ticks
+    private static final int dropletAgeMin = 10;
+    private static final int dropletAgeVariation = 20;
+    private static final int mistAgeBase = 8;               // Divided by a random 0.2..1, like vanilla dust
+
+    // Called from the effect bundle handler, detail = percent of the full count (server distance LOD)
+    public static void spawnBloodParticles(Vec3d pos, Vec3d velocity, int detail) {
         MinecraftClient client = MinecraftClient.getInstance();
         if (client.world == null) return;
-
         ThreadLocalRandom rng = ThreadLocalRandom.current();
 
-        // Impact speed and forward direction
-        double speed = velocity.length();
-        Vec3d forward = normalizeSafely(velocity, new Vec3d(0, 0, -1));
-
-        // Local basis aligned to forward
-        Basis basis = makePerpendicularBasis(forward);
-
-        // Random cone angle (degrees)
-        double coneDeg = coneAngleBase + rng.nextDouble() * coneAngleVariation;
-
         // Total particles this burst
         int count = particleCount + rng.nextInt(-particleVariation, particleVariation + 1);
+        count = Math.max(1, count * detail / 100); // Server side distance LOD
+
+        // Frame budget has the final say, mist goes first
+        int wantedDroplets = (int) Math.round(count * dropletRatio);
+        int wantedMist = FrameBudget.shedMist(count - wantedDroplets);
+        int granted = FrameBudget.claim(pos.x, pos.y, pos.z, wantedDroplets + wantedMist);
+        int droplets = Math.min(granted, wantedDroplets);
+        int mist = granted - droplets;
+        if (droplets + mist == 0) return;
+
+        int light = WorldRenderer.getLightmapCoordinates(client.world, BlockPos.ofFloored(pos));
+        emit(pos.x, pos.y, pos.z, velocity.x, velocity.y, velocity.z, droplets, mist, light);
+    }
 
-        for (int i = 0; i < count; i++) {
-            // Jitter spawn position
-            double ox = rng.nextDouble(-0.15, 0.15);
-            double oy = rng.nextDouble(-0.15, 0.15);
-            double oz = rng.nextDouble(-0.15, 0.15);
+    // Fills the pool with one burst, all math on locals (no vectors per particle)
+    static void emit(double px, double py, double pz, double velX, double velY, double velZ,
+                     int droplets, int mist, int light) {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+
+        // Impact speed and forward direction
+        double speed = Math.sqrt(velX * velX + velY * velY + velZ * velZ);
+        double fx = 0, fy = 0, fz = -1;
+        if (speed * speed >= 1.0e-8) {
+            fx = velX / speed;
+            fy = velY / speed;
+            fz = velZ / speed;
+        }
 
-            // Direction inside the cone
-            Vec3d sprayForward = randomDirectionCone(basis, coneDeg, rng);
+        // Local basis aligned to forward: u = f x up, v = f x u (up is +Y unless f is nearly vertical)
+        boolean vertical = Math.abs(fy) >= 0.999;
+        double ux = vertical ? 0 : -fz;
+        double uy = vertical ? fz : 0;
+        double uz = vertical ? -fy : fx;
+        double uLen = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        ux /= uLen;
+        uy /= uLen;
+        uz /= uLen;
+        double vx = fy * uz - fz * uy, vy = fz * ux - fx * uz, vz = fx * uy - fy * ux;
+
+        // Random cone angle for this burst
+        double coneRad = Math.toRadians(coneAngleBase + rng.nextDouble() * coneAngleVariation);
+        double cosMax = Math.cos(coneRad);
+
+        for (int i = 0; i < droplets + mist; i++) {
+            // Jitter spawn position
+            double x = px + rng.nextDouble(-0.15, 0.15);
+            double y = py + rng.nextDouble(-0.15, 0.15);
+            double z = pz + rng.nextDouble(-0.15, 0.15);
+
+            // Uniform direction inside the cone
+            double cosA = MathHelper.lerp(rng.nextDouble(), cosMax, 1.0);
+            double sinA = Math.sqrt(Math.max(0.0, 1.0 - cosA * cosA));
+            double theta = rng.nextDouble(0.0, Math.PI * 2.0);
+            double ct = Math.cos(theta) * sinA, st = Math.sin(theta) * sinA;
+            double dx = fx * cosA + ux * ct + vx * st;
+            double dy = fy * cosA + uy * ct + vy * st;
+            double dz = fz * cosA + uz * ct + vz * st;
 
-            // Dark red color variation and size
-            float r = 0.6f + (float) rng.nextDouble(0.0, 0.4);
-            float g = (float) rng.nextDouble(0.0, 0.1);
-            float b = (float) rng.nextDouble(0.0, 0.05);
             float scale = scaleBase + (float) rng.nextDouble(-scaleVariation * 0.5, scaleVariation * 0.5);
+            int bucket = rng.nextInt(BloodParticlePool.paletteSize);
 
-            boolean spawnDroplet = rng.nextDouble() < dropletRatio;
-
-            if (spawnDroplet) {
+            if (i < droplets) {
                 // Droplet: forward-heavy with small lateral jitter
-                double jitterU = rng.nextDouble(-dropletSideJitter, dropletSideJitter);
-                double jitterV = rng.nextDouble(-dropletSideJitter, dropletSideJitter);
-                Vec3d jitter = basis.u.multiply(jitterU).add(basis.v.multiply(jitterV));
-
-                // Velocity = forward * impactSpeed * scale + jitter
-                Vec3d vel = sprayForward.multiply(speed * dropletSpeedScale).add(jitter);
-
-                client.world.addParticleClient(
-                        new ItemStackParticleEffect(ParticleTypes.ITEM, new ItemStack(Items.RED_DYE)),
-                        pos.x + ox, pos.y + oy, pos.z + oz,
-                        vel.x, vel.y, vel.z
-                );
+                double ju = rng.nextDouble(-dropletSideJitter, dropletSideJitter);
+                double jv = rng.nextDouble(-dropletSideJitter, dropletSideJitter);
+                double s = speed * dropletSpeedScale;
+                BloodParticlePool.add(BloodParticlePool.DROPLET, x, y, z,
+                        dx * s + ux * ju + vx * jv, dy * s + uy * ju + vy * jv, dz * s + uz * ju + vz * jv,
+                        dropletSize * scale, dropletAgeMin + rng.nextInt(dropletAgeVariation), bucket, light);
             } else {
                 // Mist: fraction of speed + lateral spread
-                double mistU = rng.nextDouble(-mistSpread, mistSpread);
-                double mistV = rng.nextDouble(-mistSpread, mistSpread);
-                Vec3d sideways = basis.u.multiply(mistU).add(basis.v.multiply(mistV));
-
-                Vec3d vel = sprayForward.multiply(mistVelMultiplier * speed).add(sideways);
-
-                int packedColor = packColor(r, g, b); // 0xRRGGBB
-                DustParticleEffect blood = new DustParticleEffect(packedColor, scale);
-
-                client.world.addParticleClient(
-                        blood,
-                        pos.x + ox, pos.y + oy, pos.z + oz,
-                        vel.x, vel.y, vel.z
-                );
+                double mu = rng.nextDouble(-mistSpread, mistSpread);
+                double mv = rng.nextDouble(-mistSpread, mistSpread);
+                double s = speed * mistVelMultiplier;
+                int age = (int) (mistAgeBase / (rng.nextFloat() * 0.8f + 0.2f) * scale);
+                BloodParticlePool.add(BloodParticlePool.MIST, x, y, z,
+                        dx * s + ux * mu + vx * mv, dy * s + uy * mu + vy * mv, dz * s + uz * mu + vz * mv,
+                        mistSize * scale, age, bucket, light);
             }
         }
     }
 
-    // Normalize or return fallback when too small
-    private static Vec3d normalizeSafely(Vec3d v, Vec3d fallback) {
-        double len2 = v.lengthSquared();
-        if (len2 < 1.0e-8) return fallback;
-        return v.multiply(1.0 / Math.sqrt(len2));
-    }
-
-    // Build orthonormal basis {f, u, v} with f = forward
-    private static Basis makePerpendicularBasis(Vec3d forward) {
-        Vec3d f = normalizeSafely(forward, new Vec3d(0, 0, -1));
-
-        // Up-like vector not parallel to f
-        Vec3d up = Math.abs(f.y) < 0.999 ? new Vec3d(0, 1, 0) : new Vec3d(1, 0, 0);
-
-        Vec3d u = f.crossProduct(up);
-        u = normalizeSafely(u, new Vec3d(1, 0, 0));
-        Vec3d v = f.crossProduct(u);
-        return new Basis(f, u, v);
-    }
-
-    // Uniform direction inside a cone around forward
-    private static Vec3d randomDirectionCone(Basis basis, double maxAngleDegrees, ThreadLocalRandom rng) {
-        double maxRad = Math.toRadians(maxAngleDegrees);
-        double cosAlpha = MathHelper.lerp(rng.nextDouble(), Math.cos(maxRad), 1.0);
-        double sinAlpha = Math.sqrt(Math.max(0.0, 1.0 - cosAlpha * cosAlpha));
-
-        double theta = rng.nextDouble(0.0, Math.PI * 2.0);
-        double ct = Math.cos(theta);
-        double st = Math.sin(theta);
-
-        Vec3d lateral = basis.u.multiply(ct).add(basis.v.multiply(st));
-        return basis.f.multiply(cosAlpha).add(lateral.multiply(sinAlpha)).normalize();
-    }
-
-    // Pack floats [0..1] into 0xRRGGBB
-    private static int packColor(float r, float g, float b) {
-        int ri = Math.max(0, Math.min(255, (int)(r * 255f)));
-        int gi = Math.max(0, Math.min(255, (int)(g * 255f)));
-        int bi = Math.max(0, Math.min(255, (int)(b * 255f)));
-        return (ri << 16) | (gi << 8) | bi;
-    }
-
-    private record Basis(Vec3d f, Vec3d u, Vec3d v) {}
-
     private BloodParticle() {}
 }
@@ -0,0 +1,224 @@
+package win.demistorm.particles;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.WorldRenderer;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+// All blood on the client lives here instead of being one vanilla particle (plus an ItemStack and a
+// particle effect) per droplet. State is kept in parallel arrays, every particle is stepped in one loop
+// per client tick and drawn as untextured billboards in one buffer. Dead particles are swap-removed so
+// the live ones stay packed at the front. Colors come from a small shared palette.
+@Environment(EnvType.CLIENT)
+public final class BloodParticlePool {
+
+    public static final byte DROPLET = 0; // Heavy, falls and sticks to blocks
+    public static final byte MIST = 1;    // Light, drifts and fades
+
+    private static final int capacity = 4096; // Extra spawns are dropped when full
+
+    private static final float dropletGravity = 0.04f; // Same as vanilla item crack particles
+    private static final float dropletDrag = 0.98f;
+    private static final float mistGravity = 0.002f;   // Barely settles
+    private static final float mistDrag = 0.92f;
+    private static final float mistAlpha = 0.8f;
+
+    private static final int lightRefreshTicks = 4;    // Each particle re-samples light this often
+
+    // Dark reds, the spawners pick a bucket instead of building a color per particle
+    static final int paletteSize = 8;
+    private static final float[] PALETTE_R = new float[paletteSize];
+    private static final float[] PALETTE_G = new float[paletteSize];
+    private static final float[] PALETTE_B = new float[paletteSize];
+    private static final float dropletShade = 0.8f;    // Droplets read a bit darker than mist
+
+    static {
+        for (int k = 0; k < paletteSize; k++) {
+            PALETTE_R[k] = 0.6f + 0.4f * k / (paletteSize - 1);
+            PALETTE_G[k] = 0.1f * ((k * 5) % paletteSize) / paletteSize;
+            PALETTE_B[k] = 0.05f * ((k * 3) % paletteSize) / paletteSize;
+        }
+    }
+
+    // Particle state, index i across every array is one particle, [0, count) are alive
+    private static final double[] X = new double[capacity];
+    private static final double[] Y = new double[capacity];
+    private static final double[] Z = new double[capacity];
+    private static final double[] LAST_X = new double[capacity];
+    private static final double[] LAST_Y = new double[capacity];
+    private static final double[] LAST_Z = new double[capacity];
+    private static final float[] VX = new float[capacity];
+    private static final float[] VY = new float[capacity];
+    private static final float[] VZ = new float[capacity];
+    private static final float[] SIZE = new float[capacity];  // Half width of the billboard
+    private static final short[] AGE = new short[capacity];
+    private static final short[] MAX_AGE = new short[capacity];
+    private static final byte[] KIND = new byte[capacity];
+    private static final byte[] BUCKET = new byte[capacity];
+    private static final boolean[] LANDED = new boolean[capacity];
+    private static final int[] LIGHT = new int[capacity];
+    private static int count = 0;
+    private static int ticks = 0;
+
+    // Scratch, client thread only
+    private static final BlockPos.Mutable POS = new BlockPos.Mutable();
+    private static final Vector3f RIGHT = new Vector3f();
+    private static final Vector3f UP = new Vector3f();
+
+    public static void init() {
+        ClientTickEvents.END_CLIENT_TICK.register(client -> {
+            if (client.world == null) {
+                clear();
+                return;
+            }
+            if (!client.isPaused()) tick(client.world);
+        });
+        WorldRenderEvents.AFTER_ENTITIES.register(BloodParticlePool::render);
+    }
+
+    // Adds one particle, false if the pool is full. Light is the packed lightmap value to start with
+    public static boolean add(byte kind, double x, double y, double z, double vx, double vy, double vz,
+                              float size, int maxAge, int bucket, int light) {
+        if (count == capacity) return false;
+        int i = count++;
+        X[i] = LAST_X[i] = x;
+        Y[i] = LAST_Y[i] = y;
+        Z[i] = LAST_Z[i] = z;
+        VX[i] = (float) vx;
+        VY[i] = (float) vy;
+        VZ[i] = (float) vz;
+        SIZE[i] = size;
+        AGE[i] = 0;
+        MAX_AGE[i] = (short) Math.max(1, Math.min(Short.MAX_VALUE, maxAge));
+        KIND[i] = kind;
+        BUCKET[i] = (byte) Math.floorMod(bucket, paletteSize);
+        LANDED[i] = false;
+        LIGHT[i] = light;
+        return true;
+    }
+
+    public static int size() {
+        return count;
+    }
+
+    static int capacity() {
+        return capacity;
+    }
+
+    public static void clear() {
+        count = 0;
+    }
+
+    // One step for every live particle. World may be null (benchmarks), then blocks and light are skipped
+    static void tick(ClientWorld world) {
+        ticks++;
+        int i = 0;
+        while (i < count) {
+            if (++AGE[i] >= MAX_AGE[i]) {
+                removeAt(i);
+                continue; // The last particle moved into i, step it too
+            }
+
+            LAST_X[i] = X[i];
+            LAST_Y[i] = Y[i];
+            LAST_Z[i] = Z[i];
+
+            if (!LANDED[i]) {
+                boolean droplet = KIND[i] == DROPLET;
+                float drag = droplet ? dropletDrag : mistDrag;
+                VY[i] -= droplet ? dropletGravity : mistGravity;
+                double nx = X[i] + VX[i], ny = Y[i] + VY[i], nz = Z[i] + VZ[i];
+
+                // Droplets stop on the first solid block they move into
+                if (droplet && world != null && !world.getBlockState(POS.set(nx, ny, nz))
+                        .getCollisionShape(world, POS).isEmpty()) {
+                    LANDED[i] = true;
+                    VX[i] = VY[i] = VZ[i] = 0f;
+                } else {
+                    X[i] = nx;
+                    Y[i] = ny;
+                    Z[i] = nz;
+                    VX[i] *= drag;
+                    VY[i] *= drag;
+                    VZ[i] *= drag;
+                }
+            }
+
+            if (world != null && (i + ticks) % lightRefreshTicks == 0) {
+                LIGHT[i] = WorldRenderer.getLightmapCoordinates(world, POS.set(X[i], Y[i], Z[i]));
+            }
+            i++;
+        }
+    }
+
+    private static void removeAt(int i) {
+        int last = --count;
+        if (i == last) return;
+        X[i] = X[last];
+        Y[i] = Y[last];
+        Z[i] = Z[last];
+        LAST_X[i] = LAST_X[last];
+        LAST_Y[i] = LAST_Y[last];
+        LAST_Z[i] = LAST_Z[last];
+        VX[i] = VX[last];
+        VY[i] = VY[last];
+        VZ[i] = VZ[last];
+        SIZE[i] = SIZE[last];
+        AGE[i] = AGE[last];
+        MAX_AGE[i] = MAX_AGE[last];
+        KIND[i] = KIND[last];
+        BUCKET[i] = BUCKET[last];
+        LANDED[i] = LANDED[last];
+        LIGHT[i] = LIGHT[last];
+    }
+
+    // Camera facing quads, positions interpolated between the last two ticks
+    private static void render(WorldRenderContext context) {
+        if (count == 0 || context.matrixStack() == null || context.consumers() == null) return;
+
+        VertexConsumer buffer = context.consumers().getBuffer(RenderLayer.getTextBackground());
+        Matrix4f matrix = context.matrixStack().peek().getPositionMatrix();
+        Vec3d cam = context.camera().getPos();
+        Quaternionf rotation = context.camera().getRotation();
+        rotation.transform(RIGHT.set(1f, 0f, 0f));
+        rotation.transform(UP.set(0f, 1f, 0f));
+        float tickDelta = context.tickCounter().getTickProgress(false);
+
+        for (int i = 0; i < count; i++) {
+            float x = (float) (LAST_X[i] + (X[i] - LAST_X[i]) * tickDelta - cam.x);
+            float y = (float) (LAST_Y[i] + (Y[i] - LAST_Y[i]) * tickDelta - cam.y);
+            float z = (float) (LAST_Z[i] + (Z[i] - LAST_Z[i]) * tickDelta - cam.z);
+
+            int k = BUCKET[i];
+            float r = PALETTE_R[k], g = PALETTE_G[k], b = PALETTE_B[k], a = 1f;
+            if (KIND[i] == DROPLET) {
+                r *= dropletShade;
+                g *= dropletShade;
+                b *= dropletShade;
+            } else {
+                a = mistAlpha * (1f - (AGE[i] + tickDelta) / MAX_AGE[i]);
+            }
+
+            float s = SIZE[i];
+            float rx = RIGHT.x * s, ry = RIGHT.y * s, rz = RIGHT.z * s;
+            float ux = UP.x * s, uy = UP.y * s, uz = UP.z * s;
+            int light = LIGHT[i];
+            buffer.vertex(matrix, x - rx - ux, y - ry - uy, z - rz - uz).color(r, g, b, a).light(light);
+            buffer.vertex(matrix, x - rx + ux, y - ry + uy, z - rz + uz).color(r, g, b, a).light(light);
+            buffer.vertex(matrix, x + rx + ux, y + ry + uy, z + rz + uz).color(r, g, b, a).light(light);
+            buffer.vertex(matrix, x + rx - ux, y + ry - uy, z + rz - uz).color(r, g, b, a).light(light);
+        }
+    }
+
+    private BloodParticlePool() {}
+}
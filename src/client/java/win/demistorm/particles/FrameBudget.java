@@ -0,0 +1,174 @@
+package win.demistorm.particles;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.client.render.Camera;
+import net.minecraft.util.math.Vec3d;
+import org.joml.Vector3f;
+import org.vivecraft.api.VRAPI;
+import org.vivecraft.api.client.Tracker;
+import win.demistorm.config.ClientOnlyConfig;
+
+// Decides how many blood particles a burst or trickle actually gets. Render work per frame (first world
+// render start to last world render end, so a headset's compositor wait before rendering isn't counted) is
+// tracked as a moving average against the frame interval, that sets how many particles can be spawned
+// before the next frame. In VR the interval is the headset's refresh, learned from the vsync-locked frame
+// pacing. Each request is also scaled by how far away and how on-screen it is. Mist is the first thing to
+// go: it's cut once frames run close to the target, droplets only when the budget runs out.
+@Environment(EnvType.CLIENT)
+public final class FrameBudget {
+
+    // Particles allowed per frame with headroom to spare, and what's left when frames are over target
+    private static final int maxPerFrame = 192;
+    private static final int minPerFrame = 16;
+    // Load = average render work / target interval. Full budget below relaxedLoad, minimum above overLoad
+    private static final double relaxedLoad = 0.85;
+    private static final double overLoad = 1.1;
+    private static final double averaging = 0.1;                  // EMA weight of the newest frame
+    private static final long ignoreFrameNanos = 250_000_000L;    // Pauses, loading, window drags
+    // Headset refresh: frames can't come faster than vsync, so the estimate follows short intervals quickly
+    // (one catch-up frame after a late one only nudges it) and long ones slowly, which also follows a runtime
+    // switching rates. Intervals 1.5x over it and up (reprojection) are ignored
+    private static final double refreshDrift = 0.01;
+    private static final double reprojectedRatio = 1.5;
+
+    // Relevance: full up close, falling to farRelevance at farDistance. Behind or beside the view less so
+    private static final double nearDistance = 8.0;
+    private static final double farDistance = 48.0;
+    private static final double farRelevance = 0.25;
+    private static final double offScreenRelevance = 0.3;
+    private static final double onScreenCos = 0.5;                 // ~60 degrees off the view direction
+
+    private static double averageWorkNanos = 0.0;
+    private static double refreshNanos = 0.0;   // 0 until measured, also on flat screen
+    private static long lastFrame = 0L;
+    private static long renderStart = 0L;       // First world render of the current frame, 0 if none yet
+    private static long renderEnd = 0L;
+    private static int remaining = maxPerFrame;
+
+    private static final Vector3f FORWARD = new Vector3f();
+
+    // In VR the world is rendered once per eye, so frames are counted by a Vivecraft per-frame tracker.
+    // It runs outside the world renders, the work of both eyes lands in one frame
+    public static class FrameTracker implements Tracker {
+        @Override
+        public ProcessType processType() {
+            return ProcessType.PER_FRAME;
+        }
+
+        @Override
+        public boolean isActive(ClientPlayerEntity player) {
+            return player != null && VRAPI.instance().isVRPlayer(player);
+        }
+
+        @Override
+        public void activeProcess(ClientPlayerEntity player) {
+            long now = System.nanoTime();
+            measureRefresh(now - lastFrame);
+            frame(now);
+        }
+    }
+
+    public static void init() {
+        WorldRenderEvents.START.register(context -> {
+            if (renderStart == 0L) renderStart = System.nanoTime();
+        });
+        WorldRenderEvents.END.register(context -> {
+            renderEnd = System.nanoTime();
+            // Flat screen, one world render per frame
+            ClientPlayerEntity player = MinecraftClient.getInstance().player;
+            if (player == null || !VRAPI.instance().isVRPlayer(player)) {
+                refreshNanos = 0.0;
+                frame(renderEnd);
+            }
+        });
+    }
+
+    private static void frame(long now) {
+        long work = renderStart == 0L ? 0L : renderEnd - renderStart;
+        renderStart = 0L;
+        if (work > 0 && work < ignoreFrameNanos && now - lastFrame < ignoreFrameNanos) {
+            averageWorkNanos = averageWorkNanos == 0.0
+                    ? work
+                    : averageWorkNanos + (work - averageWorkNanos) * averaging;
+        }
+        lastFrame = now;
+        remaining = perFrame(); // Fresh budget for whatever arrives before the next frame
+    }
+
+    private static void measureRefresh(long dt) {
+        if (dt <= 0 || dt >= ignoreFrameNanos) return;
+        if (refreshNanos == 0.0) {
+            refreshNanos = dt;
+        } else if (dt < refreshNanos) {
+            refreshNanos += (dt - refreshNanos) * averaging;
+        } else if (dt < refreshNanos * reprojectedRatio) {
+            refreshNanos += (dt - refreshNanos) * refreshDrift;
+        }
+    }
+
+    // Particles a request for wanted particles at x/y/z may spawn, taken out of this frame's budget
+    public static int claim(double x, double y, double z, int wanted) {
+        if (wanted <= 0 || remaining <= 0) return 0;
+        int scaled = (int) Math.round(wanted * relevance(x, y, z));
+        int granted = Math.min(remaining, Math.max(1, scaled));
+        remaining -= granted;
+        return granted;
+    }
+
+    // Share of wanted mist to keep: all of it with headroom, none once frames reach the target
+    public static double mistScale() {
+        double load = load();
+        if (load <= relaxedLoad) return 1.0;
+        return Math.max(0.0, (1.0 - load) / (1.0 - relaxedLoad));
+    }
+
+    // Mist still worth asking for under the current load. Shed before claiming, so only what's actually
+    // spawned is taken out of the frame's budget and the rest stays free for droplets
+    public static int shedMist(int wantedMist) {
+        return (int) Math.round(wantedMist * mistScale());
+    }
+
+    private static int perFrame() {
+        double load = load();
+        if (load <= relaxedLoad) return maxPerFrame;
+        if (load >= overLoad) return minPerFrame;
+        double t = (load - relaxedLoad) / (overLoad - relaxedLoad);
+        return (int) Math.round(maxPerFrame + (minPerFrame - maxPerFrame) * t);
+    }
+
+    // Against the headset refresh once it's known, the configured rate on flat screen
+    private static double load() {
+        double interval = refreshNanos > 0.0
+                ? refreshNanos
+                : 1.0e9 / Math.max(1, ClientOnlyConfig.ACTIVE.targetFrameRate);
+        return averageWorkNanos / interval;
+    }
+
+    private static double relevance(double x, double y, double z) {
+        Camera camera = MinecraftClient.getInstance().gameRenderer.getCamera();
+        if (camera == null || !camera.isReady()) return 1.0;
+
+        Vec3d cam = camera.getPos();
+        double dx = x - cam.x, dy = y - cam.y, dz = z - cam.z;
+        double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        double r = 1.0;
+        if (dist > nearDistance) {
+            double t = Math.min(1.0, (dist - nearDistance) / (farDistance - nearDistance));
+            r = 1.0 + (farRelevance - 1.0) * t;
+        }
+
+        if (dist > 1.0e-3) {
+            camera.getRotation().transform(FORWARD.set(0f, 0f, -1f));
+            double cos = (dx * FORWARD.x + dy * FORWARD.y + dz * FORWARD.z) / dist;
+            if (cos < onScreenCos) r *= offScreenRelevance;
+        }
+        return r;
+    }
+
+    private FrameBudget() {}
+}
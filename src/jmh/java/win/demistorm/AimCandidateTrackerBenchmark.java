@@ -0,0 +1,91 @@
+package win.demistorm;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Aim assist cost on the release frame in a synthetic crowd (mob farm / arena around the player).
+// "releaseFullScan" scores everything in the 50 block box like before, "releaseTracked" scores only
+// what the tracker kept, "trackerSlice" is the per-tick upkeep paid while the throw is held.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AimCandidateTrackerBenchmark {
+
+    @Param({"50", "300", "1000"})
+    public int crowd;
+
+    private final Vec3d eye = new Vec3d(0.0, 65.6, 0.0);
+    private final Vec3d look = new Vec3d(0.0, -0.1, 1.0).normalize();
+    private Vec3d throwDir;
+    private final double throwSpeed = 1.6;
+
+    private Vec3d[] aim;
+    private Vec3d[] vel;
+    private final IntArrayList tracked = new IntArrayList();
+    private int cursor = 0;
+
+    @Setup
+    public void setup() {
+        Random rng = new Random(42);
+        aim = new Vec3d[crowd];
+        vel = new Vec3d[crowd];
+        for (int i = 0; i < crowd; i++) {
+            // Spread all around the player, denser close in
+            double r = 2.0 + Math.abs(rng.nextGaussian()) * 18.0;
+            double a = rng.nextDouble() * Math.PI * 2.0;
+            aim[i] = new Vec3d(Math.sin(a) * r, 64.0 + rng.nextDouble() * 3.0 + 1.3, Math.cos(a) * r);
+            vel[i] = new Vec3d(rng.nextGaussian() * 0.1, 0.0, rng.nextGaussian() * 0.1);
+        }
+        // Thrown a little off from where the head points
+        throwDir = look.add(0.15, 0.2, 0.0).normalize();
+
+        // One full pass, what the tracker holds by release time
+        for (int i = 0; i < crowd; i++) {
+            if (inRange(i)) tracked.add(i);
+        }
+    }
+
+    private boolean inRange(int i) {
+        Vec3d p = aim[i];
+        return AimCandidateTracker.inRange(p.x - eye.x, p.y - 0.4 - eye.y, p.z - eye.z);
+    }
+
+    @Benchmark
+    public void releaseFullScan(Blackhole bh) {
+        for (int i = 0; i < crowd; i++) {
+            Vec3d p = aim[i];
+            if (Math.abs(p.x - eye.x) > 25.0 || Math.abs(p.y - eye.y) > 25.0 || Math.abs(p.z - eye.z) > 25.0) continue;
+            bh.consume(AimHelper.evaluateTarget(null, p, vel[i], eye, throwDir, throwSpeed));
+        }
+    }
+
+    @Benchmark
+    public void releaseTracked(Blackhole bh) {
+        for (int k = 0; k < tracked.size(); k++) {
+            int i = tracked.getInt(k);
+            bh.consume(AimHelper.evaluateTarget(null, aim[i], vel[i], eye, throwDir, throwSpeed));
+        }
+    }
+
+    // Same slice size as the tracker: a quarter of the crowd, at least 32
+    @Benchmark
+    public void trackerSlice(Blackhole bh) {
+        int slice = Math.min(crowd, Math.max(32, (crowd + 3) / 4));
+        for (int k = 0; k < slice; k++) {
+            if (cursor >= crowd) cursor = 0;
+            bh.consume(inRange(cursor++));
+        }
+    }
+}
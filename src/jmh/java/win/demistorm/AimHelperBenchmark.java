@@ -0,0 +1,58 @@
+package win.demistorm;
+
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Aim assist intercept solver over a fixed set of synthetic targets
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AimHelperBenchmark {
+
+    private static final int targets = 64;
+
+    private final Vec3d origin = new Vec3d(0.0, 65.6, 0.0);
+    private Vec3d[] targetPos;
+    private Vec3d[] targetVel;
+    private double[] throwSpeed;
+    private double[] flightSeconds;
+
+    @Setup
+    public void setup() {
+        Random rng = new Random(42);
+        targetPos = new Vec3d[targets];
+        targetVel = new Vec3d[targets];
+        throwSpeed = new double[targets];
+        flightSeconds = new double[targets];
+        for (int i = 0; i < targets; i++) {
+            targetPos[i] = new Vec3d(rng.nextGaussian() * 10.0, 64.0 + rng.nextDouble() * 2.0, 5.0 + rng.nextDouble() * 18.0);
+            targetVel[i] = new Vec3d(rng.nextGaussian() * 0.1, 0.0, rng.nextGaussian() * 0.1);
+            throwSpeed[i] = 0.5 + rng.nextDouble() * 2.0;
+            flightSeconds[i] = 0.1 + rng.nextDouble() * 1.5;
+        }
+    }
+
+    @Benchmark
+    public void calculateOptimalInterceptTime(Blackhole bh) {
+        for (int i = 0; i < targets; i++) {
+            bh.consume(AimHelper.calculateOptimalInterceptTime(origin, targetPos[i], targetVel[i], throwSpeed[i]));
+        }
+    }
+
+    @Benchmark
+    public void calculateRequiredBallisticVelocity(Blackhole bh) {
+        for (int i = 0; i < targets; i++) {
+            bh.consume(AimHelper.calculateRequiredBallisticVelocity(origin, targetPos[i], flightSeconds[i]));
+        }
+    }
+}
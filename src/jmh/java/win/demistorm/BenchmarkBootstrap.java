@@ -0,0 +1,18 @@
+package win.demistorm;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+
+// Brings up the vanilla registries once so benchmarks can touch items and stacks
+public final class BenchmarkBootstrap {
+    private static boolean done = false;
+
+    public static synchronized void init() {
+        if (done) return;
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        done = true;
+    }
+
+    private BenchmarkBootstrap() {}
+}
@@ -0,0 +1,41 @@
+package win.demistorm;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Base attack damage lookup, called several times per throw
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DamageBenchmark {
+
+    private ItemStack[] stacks;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.init();
+        stacks = new ItemStack[] {
+                new ItemStack(Items.DIAMOND_SWORD),
+                new ItemStack(Items.IRON_AXE),
+                new ItemStack(Items.TRIDENT),
+                new ItemStack(Items.COBBLESTONE, 64),
+        };
+    }
+
+    @Benchmark
+    public void stackBaseDamage(Blackhole bh) {
+        for (ItemStack stack : stacks) {
+            bh.consume(ThrownProjectileEntity.stackBaseDamage(stack));
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package win.demistorm;
+
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import win.demistorm.effects.BoomerangEffect;
+import win.demistorm.effects.CatchEffect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Server-side mode logic per world tick: the old per-entity branch tree in ThrownProjectileEntity.tick
+// (Vec3d boomerang steering, catch damping through setVelocity) against ProjectileManager's gather plus
+// per-mode passes over primitive arrays. Projectiles are plain stand-ins for the entity fields the step
+// touches, shuffled so the list order isn't allocation order. Both sides run the same vanilla-style move
+// first. Mix is 70% flight, 15% boomerang, 10% catch, 5% embedded. Score is ms per world tick.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectileManagerBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int projectiles;
+
+    // The entity state the mode logic reads and writes
+    static final class Projectile {
+        Vec3d pos, vel, startPos, startVel;
+        Vec3d bounceCurveOffset = Vec3d.ZERO, startArc = Vec3d.ZERO;
+        Vec3d originalThrowPos = Vec3d.ZERO;
+        Vec3d catchTarget = null;
+        Vec3d hostOffset = Vec3d.ZERO;
+        boolean bounceActive, catching, embedded;
+        boolean startBounce;
+        int bounceReturnTicks = 0;
+        int age = 0;
+
+        byte flightMode() {
+            if (catching) return ProjectileManager.MODE_CATCH;
+            if (embedded) return ProjectileManager.MODE_EMBEDDED;
+            if (bounceActive) return ProjectileManager.MODE_BOOMERANG;
+            return ProjectileManager.MODE_FLIGHT;
+        }
+
+        void setVelocity(double x, double y, double z) {
+            vel = new Vec3d(x, y, z);
+        }
+    }
+
+    private List<Projectile> entities;
+    private Vec3d host;
+    private int tick = 0;
+
+    // ProjectileManager's arrays
+    private byte[] mode;
+    private double[] pos, vel, arc, origin, anchor;
+
+    @Setup
+    public void setup() {
+        Random rng = new Random(42);
+        host = new Vec3d(0.0, 64.0, 0.0);
+        entities = new ArrayList<>(projectiles);
+        for (int i = 0; i < projectiles; i++) {
+            Projectile p = new Projectile();
+            Vec3d from = new Vec3d(rng.nextGaussian() * 2.0, 64.0, rng.nextGaussian() * 2.0);
+            p.originalThrowPos = from;
+            p.pos = from.add(rng.nextGaussian() * 15.0, rng.nextGaussian() * 3.0, rng.nextGaussian() * 15.0);
+            p.vel = new Vec3d(rng.nextGaussian(), rng.nextGaussian() * 0.3, rng.nextGaussian());
+
+            int roll = rng.nextInt(100);
+            if (roll < 15) {
+                p.bounceActive = true;
+                Vec3d dir = from.subtract(p.pos).normalize();
+                Vec3d side = dir.crossProduct(new Vec3d(0, 1, 0));
+                if (side.lengthSquared() > 1.0e-6) {
+                    double mag = MathHelper.clamp(p.pos.distanceTo(from) * BoomerangEffect.arcGain,
+                            BoomerangEffect.arcMin, BoomerangEffect.arcMax);
+                    p.bounceCurveOffset = side.normalize().multiply(rng.nextBoolean() ? mag : -mag);
+                }
+            } else if (roll < 25) {
+                p.catching = true;
+                p.catchTarget = p.pos.add(rng.nextGaussian() * 3.0, rng.nextGaussian(), rng.nextGaussian() * 3.0);
+            } else if (roll < 30) {
+                p.embedded = true;
+                p.hostOffset = new Vec3d(rng.nextGaussian() * 0.3, 1.0 + rng.nextDouble(), rng.nextGaussian() * 0.3);
+            }
+            p.startPos = p.pos;
+            p.startVel = p.vel;
+            p.startArc = p.bounceCurveOffset;
+            p.startBounce = p.bounceActive;
+            entities.add(p);
+        }
+        Collections.shuffle(entities, rng);
+
+        mode = new byte[projectiles];
+        pos = new double[projectiles * 3];
+        vel = new double[projectiles * 3];
+        arc = new double[projectiles * 3];
+        origin = new double[projectiles * 3];
+        anchor = new double[projectiles * 3];
+    }
+
+    @Benchmark
+    public void perEntity(Blackhole bh) {
+        moveAll();
+        for (int i = 0; i < projectiles; i++) {
+            Projectile p = entities.get(i);
+
+            if (p.embedded && !p.catching) {
+                followHost(p);
+                continue;
+            }
+            if (p.bounceActive && !p.catching) {
+                p.bounceReturnTicks++;
+                if (tickReturnVec3d(p)) p.bounceActive = false;
+                bh.consume(p.bounceActive);
+            }
+            if (p.catching) {
+                Vec3d v = p.vel.multiply(ThrownProjectileEntity.catchDrag);
+                p.vel = CatchEffect.pull(p.pos, v, p.catchTarget);
+            }
+        }
+    }
+
+    @Benchmark
+    public void batched(Blackhole bh) {
+        moveAll();
+        int n = projectiles;
+
+        // Gather
+        for (int i = 0; i < n; i++) {
+            Projectile p = entities.get(i);
+            mode[i] = p.flightMode();
+            int o = i * 3;
+            pos[o] = p.pos.x;
+            pos[o + 1] = p.pos.y;
+            pos[o + 2] = p.pos.z;
+            vel[o] = p.vel.x;
+            vel[o + 1] = p.vel.y;
+            vel[o + 2] = p.vel.z;
+            if (mode[i] == ProjectileManager.MODE_BOOMERANG) {
+                Vec3d a = p.bounceCurveOffset;
+                Vec3d from = p.originalThrowPos;
+                arc[o] = a.x;
+                arc[o + 1] = a.y;
+                arc[o + 2] = a.z;
+                origin[o] = from.x;
+                origin[o + 1] = from.y;
+                origin[o + 2] = from.z;
+            } else if (mode[i] == ProjectileManager.MODE_CATCH) {
+                Vec3d hand = p.catchTarget;
+                anchor[o] = hand.x;
+                anchor[o + 1] = hand.y;
+                anchor[o + 2] = hand.z;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (mode[i] == ProjectileManager.MODE_EMBEDDED) followHost(entities.get(i));
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (mode[i] != ProjectileManager.MODE_BOOMERANG) continue;
+            Projectile p = entities.get(i);
+            boolean reachedOrigin = BoomerangEffect.tickReturn(pos, vel, arc, origin, i);
+            if (!reachedOrigin) {
+                int o = i * 3;
+                p.setVelocity(vel[o], vel[o + 1], vel[o + 2]);
+                Vec3d a = p.bounceCurveOffset;
+                if (a.x != arc[o] || a.y != arc[o + 1] || a.z != arc[o + 2]) {
+                    p.bounceCurveOffset = new Vec3d(arc[o], arc[o + 1], arc[o + 2]);
+                }
+            } else {
+                p.bounceActive = false;
+            }
+            p.bounceReturnTicks++;
+            bh.consume(p.bounceActive);
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (mode[i] != ProjectileManager.MODE_CATCH) continue;
+            int o = i * 3;
+            vel[o] *= ThrownProjectileEntity.catchDrag;
+            vel[o + 1] *= ThrownProjectileEntity.catchDrag;
+            vel[o + 2] *= ThrownProjectileEntity.catchDrag;
+            CatchEffect.pull(pos, vel, anchor, i);
+            entities.get(i).setVelocity(vel[o], vel[o + 1], vel[o + 2]);
+        }
+    }
+
+    // Stand-in for the vanilla tick both versions run first. Flights restart every 100 ticks so the
+    // boomerangs stay mid-return
+    private void moveAll() {
+        boolean restart = ++tick % 100 == 0;
+        for (int i = 0; i < projectiles; i++) {
+            Projectile p = entities.get(i);
+            if (restart) {
+                p.pos = p.startPos;
+                p.vel = p.startVel;
+                p.bounceCurveOffset = p.startArc;
+                p.bounceActive = p.startBounce;
+                p.bounceReturnTicks = 0;
+                continue;
+            }
+            if (p.embedded) continue;
+            p.pos = p.pos.add(p.vel);
+            if (!p.bounceActive && !p.catching) p.vel = p.vel.add(0, -0.03, 0).multiply(0.99);
+            p.age++;
+        }
+    }
+
+    private void followHost(Projectile p) {
+        p.pos = host.add(p.hostOffset);
+    }
+
+    // Old BoomerangEffect.tickReturn(ThrownProjectileEntity), same as the reference in BoomerangKernelTest
+    private static boolean tickReturnVec3d(Projectile p) {
+        Vec3d currentPos = p.pos;
+        Vec3d currentVel = p.vel;
+        Vec3d toOrigin = p.originalThrowPos.subtract(currentPos);
+        double distSq = toOrigin.lengthSquared();
+
+        if (distSq < 0.36) return true;
+        if (currentVel.length() > 0.01) {
+            double dot = currentVel.normalize().dotProduct(toOrigin.normalize());
+            if (dot < -0.8 && distSq < 4.0) return true;
+        }
+
+        Vec3d target = p.originalThrowPos.add(p.bounceCurveOffset);
+        Vec3d toTarget = target.subtract(currentPos);
+        double distance = toTarget.length();
+        if (distance < 0.0001) return false;
+        Vec3d wantDir = toTarget.normalize();
+
+        double targetSpeed = BoomerangEffect.baseReturnSpeed * speedMultiplier(Math.sqrt(distSq));
+        double turnRate = MathHelper.lerp(
+                MathHelper.clamp((float)(distance / BoomerangEffect.farDistance), 0.0f, 1.0f),
+                BoomerangEffect.maxTurnRateNear,
+                BoomerangEffect.maxTurnRateFar
+        );
+        Vec3d turned = turnTowards(currentVel, wantDir, turnRate);
+
+        Vec3d newVel = turned.multiply(BoomerangEffect.dampFactor);
+        double newSpeed = newVel.length();
+        double maxSpeed = targetSpeed * BoomerangEffect.maxOverTarget;
+        double minSpeed = targetSpeed * BoomerangEffect.minUnderTarget;
+        if (newSpeed > maxSpeed) {
+            newVel = newVel.normalize().multiply(maxSpeed);
+        } else if (newSpeed < minSpeed && newSpeed > 0.0001) {
+            newVel = newVel.normalize().multiply(minSpeed);
+        }
+        p.vel = newVel;
+
+        double nearFactor = MathHelper.clamp(1.0 - (distance / BoomerangEffect.farDistance), 0.0, 0.8);
+        double decay = MathHelper.lerp(nearFactor, BoomerangEffect.arcDecayPerStep,
+                BoomerangEffect.arcDecayPerStep * 0.75);
+        p.bounceCurveOffset = p.bounceCurveOffset.multiply(decay);
+        return false;
+    }
+
+    private static double speedMultiplier(double distance) {
+        if (distance <= BoomerangEffect.closeDistance) return BoomerangEffect.closeSpeedMultiplier;
+        if (distance >= BoomerangEffect.farDistance) return BoomerangEffect.farSpeedMultiplier;
+
+        double t = (distance - BoomerangEffect.closeDistance)
+                / (BoomerangEffect.farDistance - BoomerangEffect.closeDistance);
+        t = Math.pow(t, BoomerangEffect.scalingCurve);
+        return MathHelper.lerp((float)t, (float)BoomerangEffect.closeSpeedMultiplier,
+                (float)BoomerangEffect.farSpeedMultiplier);
+    }
+
+    private static Vec3d turnTowards(Vec3d currentVel, Vec3d wantDir, double maxAngle) {
+        double speed = currentVel.length();
+        if (speed < 1e-6) {
+            return wantDir.multiply(speed);
+        }
+        Vec3d curDir = currentVel.normalize();
+        double dot = MathHelper.clamp(curDir.dotProduct(wantDir), -1.0, 1.0);
+        double angle = Math.acos(dot);
+
+        if (angle <= maxAngle) {
+            return wantDir.multiply(speed);
+        }
+        Vec3d axis = curDir.crossProduct(wantDir);
+        if (axis.lengthSquared() < 1e-9) {
+            Vec3d turnDir = curDir.multiply(1.0 - 1e-3).add(wantDir.multiply(1e-3)).normalize();
+            return turnDir.multiply(speed);
+        }
+        Vec3d rotated = rotateAroundAxis(curDir, axis, maxAngle);
+        return rotated.normalize().multiply(speed);
+    }
+
+    private static Vec3d rotateAroundAxis(Vec3d v, Vec3d axis, double angle) {
+        Vec3d k = axis.normalize();
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double dot = v.dotProduct(k);
+        return v.multiply(cos).add(k.crossProduct(v).multiply(sin)).add(k.multiply(dot * (1.0 - cos)));
+    }
+}
@@ -0,0 +1,166 @@
+package win.demistorm;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Collision broadphase cost per server tick: 500 thrown projectiles sweeping through a mob farm.
+// "scan" is the vanilla shape: mobs live in 16^3 entity sections (kept across ticks, like the world's
+// section cache), every projectile visits the sections its stretched box touches (padded by 2 blocks like
+// SectionedEntityCache.forEachInBox) and tests the mobs in them. "indexed" rebuilds the hash once and
+// queries swept segments. Score is ms per tick, compare to the 50 ms budget.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpatialHashBenchmark {
+
+    @Param({"200", "1000"})
+    public int mobs;
+
+    @Param({"500"})
+    public int projectiles;
+
+    // Mob boxes (zombie sized), packed min/max with a stride of 6
+    private double[] boxes;
+    // Projectile segments, start/end with a stride of 6, speeds up to the 8x throw multiplier
+    private double[] segments;
+    // Section key -> mobs whose position is in it
+    private final Long2ObjectOpenHashMap<IntArrayList> sections = new Long2ObjectOpenHashMap<>();
+    private final SpatialHash hash = new SpatialHash(4.0);
+    private final IntArrayList candidates = new IntArrayList();
+
+    @Setup
+    public void setup() {
+        Random rng = new Random(42);
+
+        // Farm: a 24x24 killing floor, mobs packed in with a few stragglers around it
+        boxes = new double[mobs * 6];
+        for (int i = 0; i < mobs; i++) {
+            boolean straggler = rng.nextInt(10) == 0;
+            double x = straggler ? rng.nextGaussian() * 40.0 : rng.nextDouble() * 24.0;
+            double z = straggler ? rng.nextGaussian() * 40.0 : rng.nextDouble() * 24.0;
+            double y = 64.0 + (straggler ? 0 : rng.nextInt(3) * 3.0);
+            int o = i * 6;
+            boxes[o] = x - 0.3;
+            boxes[o + 1] = y;
+            boxes[o + 2] = z - 0.3;
+            boxes[o + 3] = x + 0.3;
+            boxes[o + 4] = y + 1.95;
+            boxes[o + 5] = z + 0.3;
+            sections.computeIfAbsent(sectionKey(section(x), section(y), section(z)), k -> new IntArrayList()).add(i);
+        }
+
+        segments = new double[projectiles * 6];
+        for (int i = 0; i < projectiles; i++) {
+            int o = i * 6;
+            segments[o] = rng.nextDouble() * 48.0 - 12.0;
+            segments[o + 1] = 64.0 + rng.nextDouble() * 10.0;
+            segments[o + 2] = rng.nextDouble() * 48.0 - 12.0;
+            double speed = 0.5 + rng.nextDouble() * 3.5;
+            segments[o + 3] = segments[o] + rng.nextGaussian() * speed;
+            segments[o + 4] = segments[o + 1] + rng.nextGaussian() * speed * 0.3;
+            segments[o + 5] = segments[o + 2] + rng.nextGaussian() * speed;
+        }
+    }
+
+    @Benchmark
+    public void scan(Blackhole bh) {
+        for (int p = 0; p < projectiles; p++) {
+            int s = p * 6;
+            // Vanilla query box: the sweep expanded by 1
+            double minX = Math.min(segments[s], segments[s + 3]) - 1.0, maxX = Math.max(segments[s], segments[s + 3]) + 1.0;
+            double minY = Math.min(segments[s + 1], segments[s + 4]) - 1.0, maxY = Math.max(segments[s + 1], segments[s + 4]) + 1.0;
+            double minZ = Math.min(segments[s + 2], segments[s + 5]) - 1.0, maxZ = Math.max(segments[s + 2], segments[s + 5]) + 1.0;
+            int best = -1;
+            double bestT = Double.MAX_VALUE;
+            for (int sx = section(minX - 2.0); sx <= section(maxX + 2.0); sx++) {
+                for (int sy = section(minY - 2.0); sy <= section(maxY + 2.0); sy++) {
+                    for (int sz = section(minZ - 2.0); sz <= section(maxZ + 2.0); sz++) {
+                        IntArrayList inSection = sections.get(sectionKey(sx, sy, sz));
+                        if (inSection == null) continue;
+                        for (int k = 0; k < inSection.size(); k++) {
+                            int m = inSection.getInt(k);
+                            int o = m * 6;
+                            if (boxes[o + 3] < minX || boxes[o] > maxX || boxes[o + 4] < minY || boxes[o + 1] > maxY
+                                    || boxes[o + 5] < minZ || boxes[o + 2] > maxZ) continue;
+                            double t = hitTime(s, o);
+                            if (t < bestT) {
+                                bestT = t;
+                                best = m;
+                            }
+                        }
+                    }
+                }
+            }
+            bh.consume(best);
+        }
+    }
+
+    @Benchmark
+    public void indexed(Blackhole bh) {
+        // Rebuilt every tick, like CollisionIndex
+        hash.clear();
+        for (int m = 0; m < mobs; m++) {
+            int o = m * 6;
+            hash.insert(m, boxes[o] - 1.0, boxes[o + 1] - 1.0, boxes[o + 2] - 1.0,
+                    boxes[o + 3] + 1.0, boxes[o + 4] + 1.0, boxes[o + 5] + 1.0);
+        }
+
+        for (int p = 0; p < projectiles; p++) {
+            int s = p * 6;
+            candidates.clear();
+            hash.querySegment(segments[s], segments[s + 1], segments[s + 2],
+                    segments[s + 3], segments[s + 4], segments[s + 5], 0.3, candidates);
+            int best = -1;
+            double bestT = Double.MAX_VALUE;
+            for (int k = 0; k < candidates.size(); k++) {
+                int m = candidates.getInt(k);
+                double t = hitTime(s, m * 6);
+                if (t < bestT) {
+                    bestT = t;
+                    best = m;
+                }
+            }
+            bh.consume(best);
+        }
+    }
+
+    private static int section(double coord) {
+        return (int) Math.floor(coord) >> 4;
+    }
+
+    private static long sectionKey(int x, int y, int z) {
+        return ((long) x & 0x3FFFFF) << 42 | ((long) y & 0xFFFFF) << 22 | ((long) z & 0x3FFFFF);
+    }
+
+    // Slab test of segment s against box o (expanded by the 0.3 projectile margin), MAX_VALUE on a miss
+    private double hitTime(int s, int o) {
+        double tMin = 0.0, tMax = 1.0;
+        for (int a = 0; a < 3; a++) {
+            double from = segments[s + a];
+            double d = segments[s + 3 + a] - from;
+            double lo = boxes[o + a] - 0.3, hi = boxes[o + 3 + a] + 0.3;
+            if (Math.abs(d) < 1e-9) {
+                if (from < lo || from > hi) return Double.MAX_VALUE;
+                continue;
+            }
+            double t0 = (lo - from) / d, t1 = (hi - from) / d;
+            if (t0 > t1) { double tmp = t0; t0 = t1; t1 = tmp; }
+            tMin = Math.max(tMin, t0);
+            tMax = Math.min(tMax, t1);
+            if (tMin > tMax) return Double.MAX_VALUE;
+        }
+        return tMin;
+    }
+}
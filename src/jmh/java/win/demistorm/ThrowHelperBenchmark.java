@@ -0,0 +1,73 @@
+package win.demistorm;
+
+import org.joml.Quaternionf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Release velocity curve, hand roll and the per-frame release velocity fit
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ThrowHelperBenchmark {
+
+    private double[] velocities;
+    private Quaternionf[] rotations;
+    private final HandPoseBuffer samples = new HandPoseBuffer();
+    private final double[] fitOut = new double[3];
+    private long sampleTime = 0;
+
+    @Setup
+    public void setup() {
+        // ThrowHelper holds an ItemStack, so the item registries have to exist
+        BenchmarkBootstrap.init();
+
+        Random rng = new Random(42);
+        velocities = new double[256];
+        for (int i = 0; i < velocities.length; i++) velocities[i] = rng.nextDouble() * 0.4;
+
+        rotations = new Quaternionf[256];
+        for (int i = 0; i < rotations.length; i++) {
+            rotations[i] = new Quaternionf((float) rng.nextGaussian(), (float) rng.nextGaussian(),
+                    (float) rng.nextGaussian(), (float) rng.nextGaussian()).normalize();
+        }
+
+        // A second of 90 Hz samples of a hand moving forward
+        for (int i = 0; i < 90; i++) recordFrame();
+    }
+
+    private void recordFrame() {
+        sampleTime += 11_111_111L;
+        double t = sampleTime * 1e-9;
+        samples.record(sampleTime, Math.sin(t) * 0.3, 1.4, t * 4.0, 0f);
+    }
+
+    // One frame's sample plus the release fit over the last 60 ms
+    @Benchmark
+    public boolean estimateReleaseVelocity() {
+        recordFrame();
+        return samples.estimateVelocity(sampleTime, fitOut);
+    }
+
+    @Benchmark
+    public void calculateVelocityMultiplier(Blackhole bh) {
+        for (double v : velocities) {
+            bh.consume(ThrowHelper.calculateVelocityMultiplier(v));
+        }
+    }
+
+    @Benchmark
+    public void handRollDegrees(Blackhole bh) {
+        for (Quaternionf q : rotations) {
+            bh.consume(ThrowHelper.handRollDegrees(q));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package win.demistorm.effects;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Boomerang return steering and its speed curve
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoomerangBenchmark {
+
+    @Param({"1", "500"})
+    public int projectiles;
+
+    private double[] pos, vel, arc, origin;
+    private double[] startPos, startVel, startArc;
+    private double[] distances;
+    private int tick = 0;
+
+    @Setup
+    public void setup() {
+        Random rng = new Random(42);
+        pos = new double[projectiles * 3];
+        vel = new double[projectiles * 3];
+        arc = new double[projectiles * 3];
+        origin = new double[projectiles * 3];
+        for (int i = 0; i < projectiles * 3; i += 3) {
+            origin[i] = rng.nextGaussian() * 2.0;
+            origin[i + 1] = 64.0;
+            origin[i + 2] = rng.nextGaussian() * 2.0;
+            pos[i] = origin[i] + rng.nextGaussian() * 15.0;
+            pos[i + 1] = origin[i + 1] + rng.nextGaussian() * 3.0;
+            pos[i + 2] = origin[i + 2] + rng.nextGaussian() * 15.0;
+            vel[i] = rng.nextGaussian();
+            vel[i + 1] = rng.nextGaussian() * 0.3;
+            vel[i + 2] = rng.nextGaussian();
+            curveOffset(rng, i);
+        }
+        startPos = pos.clone();
+        startVel = vel.clone();
+        startArc = arc.clone();
+
+        distances = new double[256];
+        for (int i = 0; i < distances.length; i++) distances[i] = rng.nextDouble() * 30.0;
+    }
+
+    // One steering step for every projectile, then a plain no-gravity move so the state keeps evolving
+    @Benchmark
+    public void tickReturn(Blackhole bh) {
+        // Restart the flights every 100 steps so everything stays mid-return
+        if (++tick % 100 == 0) {
+            System.arraycopy(startPos, 0, pos, 0, pos.length);
+            System.arraycopy(startVel, 0, vel, 0, vel.length);
+            System.arraycopy(startArc, 0, arc, 0, arc.length);
+        }
+        for (int i = 0; i < projectiles; i++) {
+            bh.consume(BoomerangEffect.tickReturn(pos, vel, arc, origin, i));
+            int o = i * 3;
+            pos[o] += vel[o] * 0.99;
+            pos[o + 1] += vel[o + 1] * 0.99;
+            pos[o + 2] += vel[o + 2] * 0.99;
+        }
+    }
+
+    // Arc offset the way startBounce lays it out: arcMag blocks off the origin, perpendicular to the way
+    // home, tilted between the vertical and horizontal curve axis by a random hand roll (negative mirrors)
+    private void curveOffset(Random rng, int o) {
+        double dx = origin[o] - pos[o], dy = origin[o + 1] - pos[o + 1], dz = origin[o + 2] - pos[o + 2];
+        double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (dist < 1.0e-3) return;
+        dx /= dist;
+        dy /= dist;
+        dz /= dist;
+
+        // up with the dir component removed, and right = dir x up
+        double ux = -dy * dx, uy = 1.0 - dy * dy, uz = -dy * dz;
+        double uLen = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        ux /= uLen;
+        uy /= uLen;
+        uz /= uLen;
+        double rx = -dz, rz = dx;
+        double rLen = Math.sqrt(rx * rx + rz * rz);
+        rx /= rLen;
+        rz /= rLen;
+
+        double roll = Math.toRadians(rng.nextDouble() * 180.0 - 90.0);
+        double cos = Math.cos(roll), sin = Math.sin(roll);
+        double mag = Math.min(BoomerangEffect.arcMax, Math.max(BoomerangEffect.arcMin, dist * BoomerangEffect.arcGain));
+        if (roll < 0.0) mag = -mag;
+        arc[o] = (ux * cos + rx * sin) * mag;
+        arc[o + 1] = uy * cos * mag;
+        arc[o + 2] = (uz * cos + rz * sin) * mag;
+    }
+
+    @Benchmark
+    public void calculateSpeedMultiplier(Blackhole bh) {
+        for (double d : distances) {
+            bh.consume(BoomerangEffect.calculateSpeedMultiplier(d));
+        }
+    }
+}
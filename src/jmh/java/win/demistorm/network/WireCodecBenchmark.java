@@ -0,0 +1,98 @@
+package win.demistorm.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import win.demistorm.BenchmarkBootstrap;
+
+import java.util.concurrent.TimeUnit;
+
+// Encode/decode cost of the compact throw and catch update codecs, against the old raw double layout
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WireCodecBenchmark {
+
+    private NetworkHelper.ThrowPacket throwPacket;
+    private NetworkHelper.CatchUpdatePacket catchUpdate;
+    private RegistryByteBuf out;
+    private RegistryByteBuf encodedThrow;
+    private RegistryByteBuf encodedCatchUpdate;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.init();
+        throwPacket = new NetworkHelper.ThrowPacket(
+                new Vec3d(-1204.69, 65.42, 317.73), new Vec3d(0.82, 0.35, -1.10), false, 23.5f, 17, 1_204_331, 0.37f);
+        catchUpdate = new NetworkHelper.CatchUpdatePacket(48211, new Vec3d(-0.12, 0.04, 0.31), -41.0f);
+
+        out = newBuf();
+        encodedThrow = newBuf();
+        NetworkHelper.ThrowPacket.CODEC.encode(encodedThrow, throwPacket);
+        encodedCatchUpdate = newBuf();
+        NetworkHelper.CatchUpdatePacket.CODEC.encode(encodedCatchUpdate, catchUpdate);
+    }
+
+    private static RegistryByteBuf newBuf() {
+        return new RegistryByteBuf(Unpooled.buffer(64), DynamicRegistryManager.EMPTY);
+    }
+
+    @Benchmark
+    public int encodeThrow() {
+        out.clear();
+        NetworkHelper.ThrowPacket.CODEC.encode(out, throwPacket);
+        return out.writerIndex();
+    }
+
+    @Benchmark
+    public NetworkHelper.ThrowPacket decodeThrow() {
+        encodedThrow.readerIndex(0);
+        return NetworkHelper.ThrowPacket.CODEC.decode(encodedThrow);
+    }
+
+    // Previous layout: six doubles, a boolean and a float (53 bytes)
+    @Benchmark
+    public int encodeThrowLegacy() {
+        out.clear();
+        Vec3d p = throwPacket.pos();
+        Vec3d v = throwPacket.vel();
+        out.writeDouble(p.x);
+        out.writeDouble(p.y);
+        out.writeDouble(p.z);
+        out.writeDouble(v.x);
+        out.writeDouble(v.y);
+        out.writeDouble(v.z);
+        out.writeBoolean(throwPacket.wholeStack());
+        out.writeFloat(throwPacket.rollDeg());
+        return out.writerIndex();
+    }
+
+    @Benchmark
+    public int encodeCatchUpdate() {
+        out.clear();
+        NetworkHelper.CatchUpdatePacket.CODEC.encode(out, catchUpdate);
+        return out.writerIndex();
+    }
+
+    @Benchmark
+    public NetworkHelper.CatchUpdatePacket decodeCatchUpdate() {
+        encodedCatchUpdate.readerIndex(0);
+        return NetworkHelper.CatchUpdatePacket.CODEC.decode(encodedCatchUpdate);
+    }
+
+    @Benchmark
+    public void roundTripRelative(Blackhole bh) {
+        out.clear();
+        WireCodec.writeRelative(out, 1.4237);
+        bh.consume(WireCodec.readRelative(out));
+    }
+}
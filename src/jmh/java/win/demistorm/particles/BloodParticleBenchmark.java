@@ -0,0 +1,52 @@
+package win.demistorm.particles;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Blood pool cost in a fight: "burst" is one hit (~32 particles into the pool), "tick" is the batched
+// per-tick step with a given number of bursts alive. No world, so block and light checks are skipped.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BloodParticleBenchmark {
+
+    // Kept well under the pool's 4096, otherwise burst() times spawns the full pool turns away
+    @Param({"4", "40", "100"})
+    public int liveBursts;
+
+    private static final int fullLight = 0xF000F0;
+    private static final int burstDroplets = 19; // Full detail burst, nothing shed
+    private static final int burstMist = 13;
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        BloodParticlePool.clear();
+        for (int i = 0; i < liveBursts; i++) {
+            BloodParticle.emit(i * 0.5, 65.0, 0.0, 0.8, -0.3, 1.4, burstDroplets, burstMist, fullLight);
+        }
+        if (BloodParticlePool.size() + burstDroplets + burstMist > BloodParticlePool.capacity()) {
+            throw new IllegalStateException("liveBursts=" + liveBursts + " leaves no room for another burst");
+        }
+    }
+
+    @Benchmark
+    public int burst() {
+        BloodParticle.emit(0.0, 65.0, 0.0, 0.8, -0.3, 1.4, burstDroplets, burstMist, fullLight);
+        return BloodParticlePool.size();
+    }
+
+    @Benchmark
+    public int tick() {
+        BloodParticlePool.tick(null);
+        return BloodParticlePool.size();
+    }
+}
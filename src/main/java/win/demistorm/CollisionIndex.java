@@ -0,0 +1,160 @@
+package win.demistorm;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.boss.dragon.EnderDragonEntity;
+import net.minecraft.entity.boss.dragon.EnderDragonPart;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.hit.EntityHitResult;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Per-world broadphase for thrown projectile entity collisions. Vanilla scans entity sections with a
+// box stretched by velocity for every projectile every tick, at high throw speeds those boxes get big.
+// Here every hittable entity goes into a spatial hash once per tick (on the first query), projectiles
+// ask it for candidates along their swept segment, then do the same exact hitbox raycast as vanilla.
+// Entities spawned after the build are added as they load, fast movers are tested on every query.
+public final class CollisionIndex {
+
+    // Below this many projectiles in the world the vanilla query is cheaper than building the index
+    private static final int minProjectiles = 8;
+    private static final double cellSize = 4.0;
+    // Entities are indexed where they were when the index was built, this covers them moving
+    // for the rest of the tick (the exact test uses their current box)
+    private static final double staleMargin = 1.0;
+    // Faster than this (blocks per tick) an entity could leave its padded cells before the tick is over
+    private static final double fastSpeed = staleMargin;
+
+    private static final Map<ServerWorld, CollisionIndex> INDEXES = new IdentityHashMap<>();
+
+    private final SpatialHash hash = new SpatialHash(cellSize);
+    private final IntArrayList candidates = new IntArrayList();
+    private final List<Entity> moving = new ArrayList<>(); // Not hashed, checked by every query
+    private Entity[] entities = new Entity[256];
+    private int count = 0;
+    private long builtAt = Long.MIN_VALUE;
+
+    // Closest hit so far in the current query, server thread only
+    private double closest;
+    private Entity hit;
+    private Vec3d hitPos;
+
+    public static void init() {
+        ServerWorldEvents.UNLOAD.register((server, world) -> INDEXES.remove(world));
+        // Spawned after this tick's build, vanilla's per-query scan would already see it
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            CollisionIndex index = INDEXES.get(world);
+            if (index != null && index.builtAt == world.getTime()) forHittable(entity, index::add);
+        });
+    }
+
+    // Every entity a thrown projectile can hit, the way World.getOtherEntities sees them. The dragon's
+    // hitboxes are its parts, those count even though the body itself can't be hit. Shared with EntityHistory
+    static void forEachHittable(ServerWorld world, Consumer<Entity> sink) {
+        for (Entity e : world.iterateEntities()) forHittable(e, sink);
+    }
+
+    static void forHittable(Entity e, Consumer<Entity> sink) {
+        if (e instanceof ThrownProjectileEntity) return;
+        if (e instanceof EnderDragonEntity dragon) {
+            for (EnderDragonPart part : dragon.getBodyParts()) sink.accept(part);
+        }
+        if (e.canHit()) sink.accept(e);
+    }
+
+    // Whether thrown projectiles in this world should go through the index this tick
+    public static boolean shouldUse(ServerWorld world) {
+        return ProjectileManager.get(world).size() >= minProjectiles;
+    }
+
+    // Same contract as ProjectileUtil.getEntityCollision: closest entity whose box (expanded by margin)
+    // the segment min -> max passes through, or null
+    public static EntityHitResult raycast(ServerWorld world, Entity projectile, Vec3d min, Vec3d max,
+                                          Box box, Predicate<Entity> predicate, float margin) {
+        CollisionIndex index = INDEXES.computeIfAbsent(world, w -> new CollisionIndex());
+        if (index.builtAt != world.getTime()) index.build(world);
+        return index.query(projectile, min, max, box, predicate, margin);
+    }
+
+    private void build(ServerWorld world) {
+        builtAt = world.getTime();
+        hash.clear();
+        Arrays.fill(entities, 0, count, null);
+        count = 0;
+        moving.clear();
+
+        forEachHittable(world, this::add);
+
+        // DEBUG
+        if (builtAt % 200 == 0) {
+            log.debug("[Collision] Indexed {} entities ({} cell entries, {} moving) in {}",
+                    count, hash.entries(), moving.size(), world.getRegistryKey().getValue());
+        }
+    }
+
+    private void add(Entity e) {
+        // Riders move with their vehicle, dragon parts with the dragon
+        Entity mover = e instanceof EnderDragonPart part ? part.owner : e.getRootVehicle();
+        if (mover.getVelocity().lengthSquared() > fastSpeed * fastSpeed) {
+            moving.add(e);
+            return;
+        }
+        if (count == entities.length) entities = Arrays.copyOf(entities, count * 2);
+        int id = count++;
+        entities[id] = e;
+        Box b = e.getBoundingBox();
+        hash.insert(id, b.minX - staleMargin, b.minY - staleMargin, b.minZ - staleMargin,
+                b.maxX + staleMargin, b.maxY + staleMargin, b.maxZ + staleMargin);
+    }
+
+    private EntityHitResult query(Entity projectile, Vec3d min, Vec3d max, Box box,
+                                  Predicate<Entity> predicate, float margin) {
+        candidates.clear();
+        hash.querySegment(min.x, min.y, min.z, max.x, max.y, max.z, margin, candidates);
+
+        closest = Double.MAX_VALUE;
+        hit = null;
+        hitPos = null;
+        for (int k = 0; k < candidates.size(); k++) {
+            test(entities[candidates.getInt(k)], projectile, min, max, box, predicate, margin);
+        }
+        for (int k = 0; k < moving.size(); k++) {
+            test(moving.get(k), projectile, min, max, box, predicate, margin);
+        }
+
+        Entity result = hit;
+        hit = null;
+        return result == null ? null : new EntityHitResult(result, hitPos);
+    }
+
+    // Exact test, matches vanilla
+    private void test(Entity e, Entity projectile, Vec3d min, Vec3d max, Box box,
+                      Predicate<Entity> predicate, float margin) {
+        if (e == projectile || e.isRemoved()) return;
+
+        Box target = e.getBoundingBox();
+        if (!target.intersects(box) || !predicate.test(e)) return;
+
+        Optional<Vec3d> at = target.expand(margin).raycast(min, max);
+        if (at.isEmpty()) return;
+        double d = min.squaredDistanceTo(at.get());
+        if (d < closest) {
+            closest = d;
+            hit = e;
+            hitPos = at.get();
+        }
+    }
+}
@@ -11,6 +11,8 @@ import net.minecraft.util.Identifier;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 // Loads/saves json config and synchronises server config to connected clients
 public final class ConfigHelper {
@@ -20,6 +22,15 @@ public final class ConfigHelper {
         // Renamed boomerangEffect to weaponEffect
         public WeaponEffectType weaponEffect = WeaponEffectType.BOOMERANG; // Default to Boomerang
         public boolean aimAssist = true;       // On by default
+        // Extra items that can't be thrown, item ids or #tags (on top of the not_throwable tag)
+        public List<String> notThrowable = new ArrayList<>();
+        // Active projectile limits, 0 turns a limit off. Oldest go first when one is exceeded.
+        public int maxProjectilesPerPlayer = 64;     // Across all dimensions
+        public int maxProjectilesPerChunk = 48;
+        public int maxProjectilesPerWorld = 1024;
+        public boolean returnEvictedToOwner = true; // Otherwise evicted projectiles drop where they are
+        // Max ticks a fresh throw's hits are rewound to match the thrower's ping, 0 turns it off
+        public int lagCompensationTicks = 6;
     }
 
     public static final Identifier CHANNEL =
@@ -74,6 +85,12 @@ public final class ConfigHelper {
     public static void copyInto(Data from, Data to) {
         to.weaponEffect = from.weaponEffect;
         to.aimAssist = from.aimAssist;
+        to.notThrowable = from.notThrowable == null ? new ArrayList<>() : new ArrayList<>(from.notThrowable);
+        to.maxProjectilesPerPlayer = from.maxProjectilesPerPlayer;
+        to.maxProjectilesPerChunk = from.maxProjectilesPerChunk;
+        to.maxProjectilesPerWorld = from.maxProjectilesPerWorld;
+        to.returnEvictedToOwner = from.returnEvictedToOwner;
+        to.lagCompensationTicks = from.lagCompensationTicks;
     }
 
     // Sends networking data to client
@@ -103,11 +120,13 @@ public final class ConfigHelper {
     // Hears that the client recieved the config
     public static void clientReceivedRemote(String json) {
         copyInto(fromJson(json), ACTIVE);
+        ModCompat.onConfigChanged();
         VRThrowingExtensions.log.debug("Received remote config: {}", json);
     }
 
     // Tells when the client disconnects
      public static void clientDisconnected() {
         copyInto(CLIENT, ACTIVE);
+        ModCompat.onConfigChanged();
     }
 }
\ No newline at end of file
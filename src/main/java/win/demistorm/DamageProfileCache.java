@@ -0,0 +1,159 @@
+package win.demistorm;
+
+import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.EnchantmentEffectComponentTypes;
+import net.minecraft.component.type.AttributeModifiersComponent;
+import net.minecraft.component.type.ItemEnchantmentsComponent;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.enchantment.effect.EnchantmentEffectEntry;
+import net.minecraft.enchantment.effect.EnchantmentValueEffect;
+import net.minecraft.enchantment.effect.value.AddEnchantmentEffect;
+import net.minecraft.enchantment.effect.value.MultiplyEnchantmentEffect;
+import net.minecraft.enchantment.effect.value.SetEnchantmentEffect;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.attribute.EntityAttributes;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.loot.condition.EntityPropertiesLootCondition;
+import net.minecraft.loot.condition.LootCondition;
+import net.minecraft.loot.context.LootContext;
+import net.minecraft.predicate.entity.EntityPredicate;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Caches base attack damage and enchantment bonuses per item + damage-relevant components.
+// Server thread only. Cleared on data-pack reload since enchantments and tags can change.
+public final class DamageProfileCache {
+
+    // Safety cap, custom modifiers on every stack could otherwise grow this forever
+    private static final int maxEntries = 1024;
+
+    private static final Map<Key, Profile> CACHE = new HashMap<>();
+
+    // Everything applyAttributeModifiers and EnchantmentHelper.getDamage read from the stack
+    private record Key(Item item, AttributeModifiersComponent modifiers, ItemEnchantmentsComponent enchantments) {}
+
+    public static final class Profile {
+        public final float baseDamage;      // 1.0 base punch + item's attack damage modifiers
+        private final boolean enchanted;
+        // Enchantment bonus per target entity type, filled on first hit against each type.
+        // Null when some damage effect depends on more than the type, those always take the live path
+        private final Reference2FloatOpenHashMap<EntityType<?>> enchantBonus;
+
+        private Profile(float baseDamage, boolean enchanted, boolean typeOnly) {
+            this.baseDamage = baseDamage;
+            this.enchanted = enchanted;
+            this.enchantBonus = enchanted && typeOnly ? new Reference2FloatOpenHashMap<>() : null;
+            if (enchantBonus != null) this.enchantBonus.defaultReturnValue(Float.NaN);
+        }
+    }
+
+    public static void init() {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> clear());
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> clear());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> clear());
+    }
+
+    public static void clear() {
+        if (!CACHE.isEmpty()) {
+            log.debug("[Damage] Clearing {} cached damage profiles", CACHE.size());
+        }
+        CACHE.clear();
+    }
+
+    public static Profile get(ItemStack stack) {
+        Key key = new Key(stack.getItem(),
+                stack.getOrDefault(DataComponentTypes.ATTRIBUTE_MODIFIERS, AttributeModifiersComponent.DEFAULT),
+                stack.getEnchantments());
+
+        Profile profile = CACHE.get(key);
+        if (profile == null) {
+            if (CACHE.size() >= maxEntries) CACHE.clear();
+            boolean enchanted = !key.enchantments().isEmpty();
+            profile = new Profile(computeBaseDamage(stack), enchanted, enchanted && typeOnly(key.enchantments()));
+            CACHE.put(key, profile);
+        }
+        return profile;
+    }
+
+    public static float baseDamage(ItemStack stack) {
+        return get(stack).baseDamage;
+    }
+
+    // Base damage plus enchantment bonus against this target. The bonus is only cached per entity type when
+    // typeOnly says that's all it depends on (vanilla sharpness/smite/bane/impaling), anything else is live
+    public static float damageAgainst(ServerWorld world, ItemStack stack, Entity target, DamageSource source) {
+        Profile profile = get(stack);
+        if (!profile.enchanted) return profile.baseDamage;
+        if (profile.enchantBonus == null) {
+            return EnchantmentHelper.getDamage(world, stack, target, source, profile.baseDamage);
+        }
+
+        EntityType<?> type = target.getType();
+        float bonus = profile.enchantBonus.getFloat(type);
+        if (Float.isNaN(bonus)) {
+            bonus = EnchantmentHelper.getDamage(world, stack, target, source, profile.baseDamage) - profile.baseDamage;
+            profile.enchantBonus.put(type, bonus);
+        }
+        return profile.baseDamage + bonus;
+    }
+
+    // True when every damage effect on these enchantments gives the same result for any two targets of one
+    // type: a fixed level-based value, and no requirement or only an entity type check on the target.
+    // Data packs can add random_chance, damage source or target state conditions, or random values
+    private static boolean typeOnly(ItemEnchantmentsComponent enchantments) {
+        for (RegistryEntry<Enchantment> enchantment : enchantments.getEnchantments()) {
+            for (EnchantmentEffectEntry<EnchantmentValueEffect> entry
+                    : enchantment.value().getEffect(EnchantmentEffectComponentTypes.DAMAGE)) {
+                EnchantmentValueEffect effect = entry.effect();
+                if (!(effect instanceof AddEnchantmentEffect || effect instanceof MultiplyEnchantmentEffect
+                        || effect instanceof SetEnchantmentEffect)) {
+                    return false;
+                }
+                if (entry.requirements().isPresent() && !isTargetTypeCheck(entry.requirements().get())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // entity_properties on the target with nothing but a type predicate
+    private static boolean isTargetTypeCheck(LootCondition condition) {
+        if (!(condition instanceof EntityPropertiesLootCondition properties)
+                || properties.entity() != LootContext.EntityTarget.THIS) {
+            return false;
+        }
+        Optional<EntityPredicate> predicate = properties.predicate();
+        if (predicate.isEmpty()) return true;
+        return predicate.get().type().isPresent()
+                && predicate.get().equals(EntityPredicate.Builder.create().type(predicate.get().type().get()).build());
+    }
+
+    // Uncached attack damage walk
+    private static float computeBaseDamage(ItemStack stack) {
+        final float[] totalBonus = {0f};
+
+        stack.applyAttributeModifiers(EquipmentSlot.MAINHAND, (attrEntry, modifier) -> {
+            if (attrEntry == EntityAttributes.ATTACK_DAMAGE) {
+                totalBonus[0] += (float) modifier.value();
+            }
+        });
+
+        return 1.0F + totalBonus[0]; // 1.0 base punch + item’s modifier
+    }
+
+    private DamageProfileCache() {}
+}
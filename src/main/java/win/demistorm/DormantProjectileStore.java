@@ -0,0 +1,151 @@
+package win.demistorm;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.SpawnReason;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.world.ChunkLevelType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateType;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Per-world store for projectiles that flew into a chunk that isn't ticking entities.
+// They are parked as entity NBT under the chunk they were entering, and resumed when that chunk
+// starts ticking again, or dropped as items if they've been parked too long.
+public final class DormantProjectileStore extends PersistentState {
+
+    // Parked longer than this (5 minutes) and the projectile just drops its item on resume
+    private static final long maxDormantTicks = 6000;
+
+    private record Parked(long chunk, long parkedAt, NbtCompound data) {
+        static final Codec<Parked> CODEC = RecordCodecBuilder.create(i -> i.group(
+                Codec.LONG.fieldOf("Chunk").forGetter(Parked::chunk),
+                Codec.LONG.fieldOf("ParkedAt").forGetter(Parked::parkedAt),
+                NbtCompound.CODEC.fieldOf("Data").forGetter(Parked::data)
+        ).apply(i, Parked::new));
+    }
+
+    private static final Codec<DormantProjectileStore> CODEC = Parked.CODEC.listOf()
+            .xmap(DormantProjectileStore::new, DormantProjectileStore::flatten);
+
+    private static final PersistentStateType<DormantProjectileStore> TYPE = new PersistentStateType<>(
+            VRThrowingExtensions.MOD_ID + "_dormant_projectiles", DormantProjectileStore::new, CODEC, null);
+
+    // Stores already looked up this session, and chunks waiting to resume at the end of the tick
+    private static final Map<ServerWorld, DormantProjectileStore> STORES = new IdentityHashMap<>();
+    private static final Map<ServerWorld, LongSet> RESUME = new IdentityHashMap<>();
+
+    private final Long2ObjectOpenHashMap<List<Parked>> byChunk = new Long2ObjectOpenHashMap<>();
+
+    private DormantProjectileStore() {}
+
+    private DormantProjectileStore(List<Parked> entries) {
+        for (Parked p : entries) byChunk.computeIfAbsent(p.chunk(), k -> new ArrayList<>()).add(p);
+    }
+
+    private List<Parked> flatten() {
+        List<Parked> all = new ArrayList<>();
+        for (List<Parked> list : byChunk.values()) all.addAll(list);
+        return all;
+    }
+
+    public static void init() {
+        // Resume once the chunk ticks entities again (spawning is deferred to the end of the tick)
+        ServerChunkEvents.CHUNK_LEVEL_TYPE_CHANGE.register((world, chunk, oldLevel, newLevel) -> {
+            if (newLevel != ChunkLevelType.ENTITY_TICKING) return;
+            long key = chunk.getPos().toLong();
+            if (get(world).byChunk.containsKey(key)) {
+                RESUME.computeIfAbsent(world, w -> new LongOpenHashSet()).add(key);
+            }
+        });
+
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            LongSet pending = RESUME.get(world);
+            if (pending != null && !pending.isEmpty()) get(world).resume(world, pending);
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            STORES.remove(world);
+            RESUME.remove(world);
+        });
+    }
+
+    public static DormantProjectileStore get(ServerWorld world) {
+        return STORES.computeIfAbsent(world, w -> w.getPersistentStateManager().getOrCreate(TYPE));
+    }
+
+    // True if an entity at pos would tick this step
+    public static boolean isTicking(ServerWorld world, double x, double y, double z) {
+        return world.shouldTickEntity(BlockPos.ofFloored(x, y, z));
+    }
+
+    // Parks the projectile at its next position, returns false if it couldn't be saved (left alone then)
+    public static boolean park(ServerWorld world, ThrownProjectileEntity proj, double nextX, double nextY, double nextZ) {
+        proj.setPosition(nextX, nextY, nextZ); // Saved in the chunk it's entering, where it resumes
+        NbtCompound data = new NbtCompound();
+        if (!proj.saveNbt(data)) return false;
+
+        long chunk = ChunkPos.toLong(BlockPos.ofFloored(nextX, nextY, nextZ));
+        DormantProjectileStore store = get(world);
+        store.byChunk.computeIfAbsent(chunk, k -> new ArrayList<>()).add(new Parked(chunk, world.getTime(), data));
+        store.markDirty();
+
+        log.debug("[Dormant] Parked projectile {} entering chunk {}", proj.getId(), new ChunkPos(chunk));
+        proj.discard(); // Not dropped, the stack lives on in the store
+        return true;
+    }
+
+    private void resume(ServerWorld world, LongSet pending) {
+        long now = world.getTime();
+        var it = pending.iterator();
+        while (it.hasNext()) {
+            long key = it.nextLong();
+            ChunkPos cp = new ChunkPos(key);
+
+            // Entities in the chunk may still be loading, try again next tick
+            if (!world.shouldTickEntity(cp.getCenterAtY(world.getBottomY()))) {
+                if (!world.isChunkLoaded(cp.x, cp.z)) it.remove(); // Unloaded again, wait for the next level change
+                continue;
+            }
+            it.remove();
+
+            List<Parked> list = byChunk.remove(key);
+            if (list == null) continue;
+            markDirty();
+
+            for (Parked parked : list) {
+                Entity entity = EntityType.getEntityFromNbt(parked.data(), world, SpawnReason.LOAD).orElse(null);
+                if (!(entity instanceof ThrownProjectileEntity proj)) {
+                    log.warn("[Dormant] Couldn't restore a parked projectile in chunk {}", cp);
+                    continue;
+                }
+
+                if (now - parked.parkedAt() > maxDormantTicks) {
+                    // Stale, just give the items back where it stopped
+                    log.debug("[Dormant] Parked projectile in chunk {} went stale, dropping", cp);
+                    proj.dropAndDiscard();
+                } else {
+                    world.spawnEntity(proj);
+                    log.debug("[Dormant] Resumed projectile {} in chunk {}", proj.getId(), cp);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package win.demistorm;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Queues projectile drops per world and spawns them at the end of the tick, merged by item + components
+// within a small radius. A mob dying with a dozen embeds gives a couple of item entities instead of a dozen
+// that vanilla then has to merge itself. Server thread only.
+public final class DropCoalescer {
+
+    // Drops this close to a group's first drop join it
+    private static final double mergeRadius = 1.0;
+    private static final double mergeRadiusSq = mergeRadius * mergeRadius;
+
+    private static final Map<ServerWorld, List<Pending>> PENDING = new IdentityHashMap<>();
+
+    private static final class Pending {
+        final ItemStack stack;
+        final double x, y, z;
+        boolean merged = false;
+
+        Pending(ItemStack stack, double x, double y, double z) {
+            this.stack = stack;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    public static void init() {
+        // Registered after everything that drops, so same-tick drops are spawned this tick
+        ServerTickEvents.END_WORLD_TICK.register(DropCoalescer::flush);
+
+        // Nothing queued should be lost on shutdown, worlds are still loaded here
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
+            for (ServerWorld world : server.getWorlds()) flush(world);
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> PENDING.remove(world));
+    }
+
+    // Queues a drop, the stack is owned by the coalescer from here on
+    public static void drop(ServerWorld world, ItemStack stack, double x, double y, double z) {
+        if (stack.isEmpty()) return;
+        PENDING.computeIfAbsent(world, w -> new ArrayList<>()).add(new Pending(stack, x, y, z));
+    }
+
+    private static void flush(ServerWorld world) {
+        List<Pending> list = PENDING.get(world);
+        if (list == null || list.isEmpty()) return;
+
+        int queued = list.size();
+        int spawned = 0;
+        for (int i = 0; i < list.size(); i++) {
+            Pending first = list.get(i);
+            if (first.merged) continue;
+
+            // Pull every matching drop nearby into this group
+            int total = first.stack.getCount();
+            for (int j = i + 1; j < list.size(); j++) {
+                Pending other = list.get(j);
+                if (other.merged) continue;
+                double dx = other.x - first.x, dy = other.y - first.y, dz = other.z - first.z;
+                if (dx * dx + dy * dy + dz * dz > mergeRadiusSq) continue;
+                if (!ItemStack.areItemsAndComponentsEqual(first.stack, other.stack)) continue;
+                total += other.stack.getCount();
+                other.merged = true;
+            }
+
+            // One entity per full stack
+            int max = first.stack.getMaxCount();
+            while (total > 0) {
+                int count = Math.min(total, max);
+                world.spawnEntity(new ItemEntity(world, first.x, first.y, first.z, first.stack.copyWithCount(count)));
+                total -= count;
+                spawned++;
+            }
+        }
+        list.clear();
+
+        // DEBUG
+        if (queued > spawned) {
+            log.debug("[Drops] Coalesced {} drops into {} item entities", queued, spawned);
+        }
+    }
+
+    private DropCoalescer() {}
+}
@@ -0,0 +1,166 @@
+package win.demistorm;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.hit.EntityHitResult;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+// Lag compensation for fresh throws. The thrower aimed at entities as their client showed them, which is
+// about a round trip behind the server. While throws are happening in a world the hitboxes of hittable
+// entities are recorded every tick into a per-world ring (primitive arrays, one frame per tick), and a
+// projectile in its first flight ticks tests against the frame its thrower was looking at instead of where
+// things are now. A world nobody throws in records nothing. After a quiet spell the first throw has no
+// frames from before it, its first few ticks collide against the present until the ring catches up.
+public final class EntityHistory {
+
+    // Hard cap on the ring, the config picks how much of it is used
+    private static final int maxFrames = 20;
+    // Only the start of the flight is compensated, after that the thrower is reacting to the projectile
+    static final int compensatedFlightTicks = 10;
+    // Client draws entities a little behind the newest position it has (interpolation)
+    private static final double viewLagTicks = 1.0;
+    // Keep recording this long after the last throw's compensated ticks, throws come in bursts (10 seconds)
+    private static final int lingerTicks = 200;
+
+    private static final Map<ServerWorld, EntityHistory> HISTORIES = new IdentityHashMap<>();
+
+    private final Frame[] frames = new Frame[maxFrames];
+    private long newest = Long.MIN_VALUE; // Tick of the last recorded frame
+    private long recordUntil = Long.MIN_VALUE;
+
+    // Hitboxes of every hittable entity at the end of one tick, six doubles per entity
+    private static final class Frame {
+        long tick = Long.MIN_VALUE;
+        int count = 0;
+        Entity[] entities = new Entity[64];
+        double[] boxes = new double[64 * 6];
+
+        void clear(long at) {
+            Arrays.fill(entities, 0, count, null);
+            count = 0;
+            tick = at;
+        }
+
+        void add(Entity e) {
+            if (count == entities.length) {
+                entities = Arrays.copyOf(entities, count * 2);
+                boxes = Arrays.copyOf(boxes, count * 2 * 6);
+            }
+            Box b = e.getBoundingBox();
+            int o = count * 6;
+            boxes[o] = b.minX;
+            boxes[o + 1] = b.minY;
+            boxes[o + 2] = b.minZ;
+            boxes[o + 3] = b.maxX;
+            boxes[o + 4] = b.maxY;
+            boxes[o + 5] = b.maxZ;
+            entities[count++] = e;
+        }
+    }
+
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            EntityHistory history = HISTORIES.get(world);
+            if (history == null) return;
+            if (window() == 0 || world.getTime() > history.recordUntil) {
+                HISTORIES.remove(world); // Quiet again, frames are dropped with it
+                return;
+            }
+            history.record(world);
+        });
+        ServerWorldEvents.UNLOAD.register((server, world) -> HISTORIES.remove(world));
+    }
+
+    // A compensated throw was spawned in this world, record frames for its flight and a while after
+    public static void noteThrow(ServerWorld world) {
+        if (window() == 0) return;
+        EntityHistory history = HISTORIES.computeIfAbsent(world, w -> new EntityHistory());
+        history.recordUntil = world.getTime() + compensatedFlightTicks + lingerTicks;
+    }
+
+    // How many ticks back this player's view of other entities is, capped by the configured window
+    public static int rewindTicks(ServerPlayerEntity player) {
+        int window = window();
+        if (window == 0) return 0;
+        double ticks = player.networkHandler.getLatency() / 50.0 + viewLagTicks;
+        return (int) Math.min(window, Math.round(ticks));
+    }
+
+    // Whether the frame rewind ticks back is still recorded, otherwise collide against the present
+    public static boolean covers(ServerWorld world, int rewind) {
+        EntityHistory history = HISTORIES.get(world);
+        return rewind > 0 && history != null && history.frameAt(world.getTime() - rewind) != null;
+    }
+
+    // Same contract as ProjectileUtil.getEntityCollision, but boxes are where they were rewind ticks ago
+    // (check covers first). The hit position is moved onto the entity's current box so effects land on it.
+    public static EntityHitResult raycast(ServerWorld world, Entity projectile, Vec3d min, Vec3d max,
+                                          Predicate<Entity> predicate, float margin, int rewind) {
+        EntityHistory history = HISTORIES.get(world);
+        Frame frame = history == null ? null : history.frameAt(world.getTime() - rewind);
+        if (frame == null) return null;
+
+        double sx = Math.min(min.x, max.x) - margin, sy = Math.min(min.y, max.y) - margin;
+        double sz = Math.min(min.z, max.z) - margin;
+        double ex = Math.max(min.x, max.x) + margin, ey = Math.max(min.y, max.y) + margin;
+        double ez = Math.max(min.z, max.z) + margin;
+
+        double closest = Double.MAX_VALUE;
+        Entity hit = null;
+        Vec3d hitPos = null;
+        double[] b = frame.boxes;
+        for (int i = 0; i < frame.count; i++) {
+            int o = i * 6;
+            // Swept bounds first, cheap and rejects almost everything
+            if (b[o] > ex || b[o + 3] < sx || b[o + 1] > ey || b[o + 4] < sy || b[o + 2] > ez || b[o + 5] < sz) {
+                continue;
+            }
+            Entity e = frame.entities[i];
+            if (e == projectile || e.isRemoved() || !predicate.test(e)) continue;
+
+            Box past = new Box(b[o], b[o + 1], b[o + 2], b[o + 3], b[o + 4], b[o + 5]);
+            Optional<Vec3d> at = past.expand(margin).raycast(min, max);
+            if (at.isEmpty()) continue;
+            double d = min.squaredDistanceTo(at.get());
+            if (d < closest) {
+                closest = d;
+                hit = e;
+                Box now = e.getBoundingBox();
+                hitPos = at.get().add(now.minX - b[o], now.minY - b[o + 1], now.minZ - b[o + 2]);
+            }
+        }
+        return hit == null ? null : new EntityHitResult(hit, hitPos);
+    }
+
+    private static int window() {
+        return Math.max(0, Math.min(maxFrames - 1, ConfigHelper.ACTIVE.lagCompensationTicks));
+    }
+
+    private void record(ServerWorld world) {
+        long now = world.getTime();
+        int slot = Math.floorMod(now, maxFrames);
+        Frame frame = frames[slot];
+        if (frame == null) frame = frames[slot] = new Frame();
+        frame.clear(now);
+
+        // Same set CollisionIndex uses, dragon hitboxes are its parts
+        CollisionIndex.forEachHittable(world, frame::add);
+        newest = now;
+    }
+
+    private Frame frameAt(long tick) {
+        if (tick > newest || newest - tick >= maxFrames) return null;
+        Frame frame = frames[Math.floorMod(tick, maxFrames)];
+        return frame != null && frame.tick == tick ? frame : null;
+    }
+}
@@ -0,0 +1,28 @@
+package win.demistorm;
+
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+
+import java.util.BitSet;
+
+// Item sets compiled into bitsets indexed by raw registry id, so membership is a single bit test
+public final class ItemBits {
+
+    // Compiles a tag, only valid until the next tag reload
+    public static BitSet ofTag(TagKey<Item> tag) {
+        BitSet bits = new BitSet(Registries.ITEM.size());
+        for (RegistryEntry<Item> entry : Registries.ITEM.iterateEntries(tag)) {
+            bits.set(Registries.ITEM.getRawId(entry.value()));
+        }
+        return bits;
+    }
+
+    public static boolean contains(BitSet bits, Item item) {
+        int id = Registries.ITEM.getRawId(item);
+        return id >= 0 && bits.get(id);
+    }
+
+    private ItemBits() {}
+}
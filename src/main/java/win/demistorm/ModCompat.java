@@ -1,13 +1,20 @@
 package win.demistorm;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
 import net.minecraft.util.Identifier;
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import static win.demistorm.VRThrowingExtensions.log;
+
 // Blacklists various items from being thrown, handles mod compatibility with ImmersiveMC
 public class ModCompat {
 
@@ -15,6 +22,10 @@ public class ModCompat {
     private static final boolean IMCLoaded = FabricLoader.getInstance()
             .isModLoaded("immersivemc");
 
+    // Data-pack extendable blacklist
+    public static final TagKey<Item> NOT_THROWABLE_TAG =
+            TagKey.of(RegistryKeys.ITEM, Identifier.of(VRThrowingExtensions.MOD_ID, "not_throwable"));
+
     // List of blacklisted items
     private static final Set<Identifier> blockedItems = new HashSet<>();
 
@@ -24,20 +35,77 @@ public class ModCompat {
         // Add more if I find any other conflicts
     }
 
+    // Compiled raw-id bitsets, each part is only rebuilt when its source changes
+    private static BitSet fixedBits = new BitSet();   // Built-in list + ImmersiveMC exceptions
+    private static BitSet tagBits = new BitSet();     // not_throwable tag
+    private static BitSet configBits = new BitSet();  // Config notThrowable list
+    private static BitSet blocked = new BitSet();     // Union of the above
+    private static int fixedRegistrySize = -1;
+
+    public static void init() {
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+            // Registry contents don't change after freeze, only redo the fixed part if they did
+            if (fixedRegistrySize != Registries.ITEM.size()) rebuildFixed();
+            tagBits = ItemBits.ofTag(NOT_THROWABLE_TAG);
+            // Config entries can reference tags too
+            configBits = compileConfig(ConfigHelper.ACTIVE.notThrowable);
+            union();
+        });
+    }
+
+    // Called when the active config changes (server sync or disconnect)
+    public static void onConfigChanged() {
+        configBits = compileConfig(ConfigHelper.ACTIVE.notThrowable);
+        union();
+    }
+
     // Disables throwing blocked items
     public static boolean throwingDisabled(ItemStack stack) {
         if (stack.isEmpty()) return true;
+        return ItemBits.contains(blocked, stack.getItem());
+    }
+
+    private static void rebuildFixed() {
+        BitSet bits = new BitSet(Registries.ITEM.size());
+        for (Item item : Registries.ITEM) {
+            Identifier id = Registries.ITEM.getId(item);
+
+            // If on blacklist, or ImmersiveMC is loaded and handles throwing for it, skip
+            if (blockedItems.contains(id) || (IMCLoaded && immersiveMCExceptions(id))) {
+                bits.set(Registries.ITEM.getRawId(item));
+            }
+        }
+        fixedBits = bits;
+        fixedRegistrySize = Registries.ITEM.size();
+    }
 
-        Item item = stack.getItem();
-        Identifier id = Registries.ITEM.getId(item);
+    // Entries are item ids ("minecraft:shield") or item tags ("#c:tools/bow")
+    private static BitSet compileConfig(List<String> entries) {
+        BitSet bits = new BitSet();
+        if (entries == null) return bits;
 
-        // If ImmersiveMC is loaded, disable throwing immersiveMCExceptions
-        if (IMCLoaded && immersiveMCExceptions(id)) {
-            return true;
+        for (String entry : entries) {
+            boolean isTag = entry.startsWith("#");
+            Identifier id = Identifier.tryParse(isTag ? entry.substring(1) : entry);
+            if (id == null) {
+                log.warn("[Compat] Ignoring invalid notThrowable entry '{}'", entry);
+                continue;
+            }
+            if (isTag) {
+                bits.or(ItemBits.ofTag(TagKey.of(RegistryKeys.ITEM, id)));
+            } else if (Registries.ITEM.containsId(id)) {
+                bits.set(Registries.ITEM.getRawId(Registries.ITEM.get(id)));
+            }
         }
+        return bits;
+    }
 
-        // If on blacklist, skip
-        return blockedItems.contains(id);
+    private static void union() {
+        BitSet bits = (BitSet) fixedBits.clone();
+        bits.or(tagBits);
+        bits.or(configBits);
+        blocked = bits;
+        log.debug("[Compat] {} items blocked from throwing", blocked.cardinality());
     }
 
     // List of items ImmersiveMC has throwing logic already for
@@ -51,4 +119,4 @@ public class ModCompat {
                 || itemId.getPath().startsWith("lingering_potion")
                 || itemId.getPath().startsWith("trident");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,275 @@
+package win.demistorm;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import win.demistorm.effects.BoomerangEffect;
+import win.demistorm.effects.CatchEffect;
+import win.demistorm.effects.EmbeddingEffect;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Steps the server-side flight modes of every thrown projectile in a world in one batched pass per tick.
+// Vanilla movement/collision still runs in the entity tick, this only replaces the per-entity mode branching.
+public final class ProjectileManager {
+
+    // Flight modes, resolved once per step
+    public static final byte MODE_IDLE      = 0; // Removed or not ticked this step (non-ticking chunk)
+    public static final byte MODE_FLIGHT    = 1; // Plain ballistic flight, vanilla physics only
+    public static final byte MODE_BOOMERANG = 2; // Steering back to the throw origin
+    public static final byte MODE_CATCH     = 3; // Being pulled toward a player's hand
+    public static final byte MODE_EMBEDDED  = 4; // Stuck in a host entity
+
+    private static final int initialCapacity = 64;
+
+    // Extra tracker syncs for states clients can't extrapolate (the base interval covers plain flight).
+    // Only forced while a player is close enough to see the curve.
+    private static final int boomerangSyncInterval = 2;
+    private static final double boomerangSyncRange = 48.0;
+    private static final int catchSyncInterval = 2;
+    private static final double catchSyncRange = 24.0;
+
+    // One manager per loaded server world
+    private static final Map<ServerWorld, ProjectileManager> MANAGERS = new IdentityHashMap<>();
+
+    private final ServerWorld world;
+    private final ProjectileQuotas quotas = new ProjectileQuotas();
+
+    // Structure-of-arrays hot state, vectors are stored with a stride of 3
+    private ThrownProjectileEntity[] entities = new ThrownProjectileEntity[initialCapacity];
+    private int[] lastAge = new int[initialCapacity];
+    private byte[] mode = new byte[initialCapacity];
+    private double[] pos = new double[initialCapacity * 3];
+    private double[] vel = new double[initialCapacity * 3];
+    private double[] arc = new double[initialCapacity * 3];    // Boomerang arc offset
+    private double[] origin = new double[initialCapacity * 3]; // Boomerang throw origin
+    private double[] anchor = new double[initialCapacity * 3]; // Catching hand, NaN when not known yet
+    private int size = 0;
+    private int holes = 0; // Slots emptied by removals, compacted before the next step
+
+    private ProjectileManager(ServerWorld world) {
+        this.world = world;
+    }
+
+    public static void init() {
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof ThrownProjectileEntity proj) get(world).register(proj);
+        });
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof ThrownProjectileEntity proj) get(world).unregister(proj);
+        });
+
+        // Runs after every entity in the world has ticked, same order as the old per-entity logic
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            ProjectileManager manager = MANAGERS.get(world);
+            if (manager != null) manager.step();
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> MANAGERS.remove(world));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> ProjectileQuotas.clearOwners());
+    }
+
+    public static ProjectileManager get(ServerWorld world) {
+        return MANAGERS.computeIfAbsent(world, ProjectileManager::new);
+    }
+
+    public int size() {
+        return size - holes;
+    }
+
+    private void register(ThrownProjectileEntity proj) {
+        if (proj.projectileSlot >= 0) return;
+        if (size == entities.length) grow();
+
+        int i = size++;
+        entities[i] = proj;
+        lastAge[i] = proj.age; // Only stepped once the world has ticked it
+        mode[i] = MODE_IDLE;
+        proj.projectileSlot = i;
+        quotas.add(proj);
+    }
+
+    private void unregister(ThrownProjectileEntity proj) {
+        int i = proj.projectileSlot;
+        if (i < 0 || i >= size || entities[i] != proj) return;
+
+        // Leave a hole so removals in the middle of a step don't shuffle slots
+        entities[i] = null;
+        mode[i] = MODE_IDLE;
+        proj.projectileSlot = -1;
+        holes++;
+        quotas.remove(proj);
+    }
+
+    private void grow() {
+        int cap = entities.length * 2;
+        entities = Arrays.copyOf(entities, cap);
+        lastAge = Arrays.copyOf(lastAge, cap);
+        mode = Arrays.copyOf(mode, cap);
+        pos = Arrays.copyOf(pos, cap * 3);
+        vel = Arrays.copyOf(vel, cap * 3);
+        arc = Arrays.copyOf(arc, cap * 3);
+        origin = Arrays.copyOf(origin, cap * 3);
+        anchor = Arrays.copyOf(anchor, cap * 3);
+    }
+
+    // Swap-removes holes left by unregister
+    private void compact() {
+        if (holes == 0) return;
+        int i = 0;
+        while (i < size) {
+            if (entities[i] != null) {
+                i++;
+                continue;
+            }
+            int last = --size;
+            if (i != last) {
+                ThrownProjectileEntity moved = entities[last];
+                entities[i] = moved;
+                lastAge[i] = lastAge[last];
+                mode[i] = mode[last];
+                if (moved != null) moved.projectileSlot = i;
+            }
+            entities[last] = null;
+        }
+        holes = 0;
+    }
+
+    // One batched step over every registered projectile
+    private void step() {
+        quotas.enforce(); // Before compacting, evictions leave holes
+        compact();
+        int n = size;
+        if (n == 0) return;
+
+        // Gather: snapshot state and resolve the mode of everything that ticked this step
+        for (int i = 0; i < n; i++) {
+            ThrownProjectileEntity p = entities[i];
+            if (p == null || p.isRemoved() || p.age == lastAge[i]) {
+                mode[i] = MODE_IDLE;
+                continue;
+            }
+            lastAge[i] = p.age;
+            mode[i] = p.flightMode();
+
+            Vec3d v = p.getVelocity();
+            int o = i * 3;
+            pos[o] = p.getX();
+            pos[o + 1] = p.getY();
+            pos[o + 2] = p.getZ();
+            vel[o] = v.x;
+            vel[o + 1] = v.y;
+            vel[o + 2] = v.z;
+
+            if (mode[i] == MODE_BOOMERANG) {
+                Vec3d a = p.bounceCurveOffset;
+                Vec3d from = p.originalThrowPos;
+                arc[o] = a.x;
+                arc[o + 1] = a.y;
+                arc[o + 2] = a.z;
+                origin[o] = from.x;
+                origin[o + 1] = from.y;
+                origin[o + 2] = from.z;
+            } else if (mode[i] == MODE_CATCH) {
+                Vec3d hand = p.catchTarget();
+                anchor[o] = hand != null ? hand.x : Double.NaN;
+                anchor[o + 1] = hand != null ? hand.y : 0.0;
+                anchor[o + 2] = hand != null ? hand.z : 0.0;
+            }
+        }
+
+        // Thin out crowded chunks before spending any more work on them
+        quotas.enforceChunks(world.getTime(), entities, mode, pos, n);
+        for (int i = 0; i < n; i++) {
+            if (mode[i] != MODE_IDLE && (entities[i] == null || entities[i].isRemoved())) mode[i] = MODE_IDLE;
+        }
+
+        // Embedded projectiles follow their hosts (hosts have already moved this tick)
+        for (int i = 0; i < n; i++) {
+            if (mode[i] != MODE_EMBEDDED) continue;
+            ThrownProjectileEntity p = entities[i];
+            if (p != null) EmbeddingEffect.tickEmbedded(p);
+        }
+
+        // Boomerang steering kernel, velocity is written back once per projectile
+        for (int i = 0; i < n; i++) {
+            if (mode[i] != MODE_BOOMERANG) continue;
+            ThrownProjectileEntity p = entities[i];
+            if (p == null) continue;
+
+            boolean reachedOrigin = BoomerangEffect.tickReturn(pos, vel, arc, origin, i);
+            if (!reachedOrigin) {
+                int o = i * 3;
+                p.setVelocity(vel[o], vel[o + 1], vel[o + 2]);
+
+                // The offset only needs a new object while it is still collapsing
+                Vec3d a = p.bounceCurveOffset;
+                if (a.x != arc[o] || a.y != arc[o + 1] || a.z != arc[o + 2]) {
+                    p.bounceCurveOffset = new Vec3d(arc[o], arc[o + 1], arc[o + 2]);
+                }
+            }
+            p.afterBoomerangStep(reachedOrigin);
+        }
+
+        // Catch damping plus magnet pull toward the catcher's hand, writes back once
+        for (int i = 0; i < n; i++) {
+            if (mode[i] != MODE_CATCH) continue;
+            ThrownProjectileEntity p = entities[i];
+            if (p == null) continue;
+            int o = i * 3;
+            vel[o] *= ThrownProjectileEntity.catchDrag;
+            vel[o + 1] *= ThrownProjectileEntity.catchDrag;
+            vel[o + 2] *= ThrownProjectileEntity.catchDrag;
+            if (!Double.isNaN(anchor[o])) CatchEffect.pull(pos, vel, anchor, i);
+            p.setVelocity(vel[o], vel[o + 1], vel[o + 2]);
+        }
+
+        // Park anything about to fly into a chunk that won't tick it, it would just hang there frozen.
+        // Only checked when the next position crosses a chunk border.
+        for (int i = 0; i < n; i++) {
+            if (mode[i] != MODE_FLIGHT && mode[i] != MODE_BOOMERANG) continue;
+            ThrownProjectileEntity p = entities[i];
+            if (p == null || p.isRemoved()) continue;
+            int o = i * 3;
+            double nx = pos[o] + vel[o];
+            double ny = pos[o + 1] + vel[o + 1];
+            double nz = pos[o + 2] + vel[o + 2];
+            if ((MathHelper.floor(pos[o]) >> 4) == (MathHelper.floor(nx) >> 4)
+                    && (MathHelper.floor(pos[o + 2]) >> 4) == (MathHelper.floor(nz) >> 4)) continue;
+            if (DormantProjectileStore.isTicking(world, nx, ny, nz)) continue;
+            if (DormantProjectileStore.park(world, p, nx, ny, nz)) mode[i] = MODE_IDLE;
+        }
+
+        // Sync cadence: boomerang and catch velocities change every tick, so push them to nearby trackers.
+        // Flight and embedded projectiles are extrapolated / host-followed on the client and need nothing extra.
+        for (int i = 0; i < n; i++) {
+            ThrownProjectileEntity p = entities[i];
+            if (p == null || p.isRemoved()) continue;
+            if (mode[i] == MODE_BOOMERANG) {
+                forceSync(p, boomerangSyncInterval, boomerangSyncRange);
+            } else if (mode[i] == MODE_CATCH) {
+                forceSync(p, catchSyncInterval, catchSyncRange);
+            }
+        }
+
+        // DEBUG
+        if (world.getTime() % 200 == 0) {
+            log.debug("[Projectiles] {} active in {}", size(), world.getRegistryKey().getValue());
+        }
+    }
+
+    // Makes the vanilla tracker send position + velocity on its next tick (keeps its relative move base intact)
+    private void forceSync(ThrownProjectileEntity p, int interval, double range) {
+        if (p.age % interval != 0) return;
+        if (!world.isPlayerInRange(p.getX(), p.getY(), p.getZ(), range)) return;
+        p.velocityDirty = true;
+    }
+}
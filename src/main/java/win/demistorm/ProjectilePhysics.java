@@ -0,0 +1,82 @@
+package win.demistorm;
+
+// Closed-form flight of a thrown projectile under vanilla ThrownEntity physics.
+// Each tick: velocity.y -= gravity, velocity *= drag, position += velocity. Summing that gives
+//   S(n) = d(1 - d^n) / (1 - d)       how far a unit of launch velocity carries after n ticks
+//   G(n) = d(n - S(n)) / (1 - d)      how far gravity has pulled down after n ticks (per unit gravity)
+//   p(n) = p0 + v0 * S(n) - up * gravity * G(n)
+// n is treated as continuous so solvers can work between ticks.
+public final class ProjectilePhysics {
+
+    // ThrownEntity defaults (out of water)
+    public static final double gravity = 0.03;
+    public static final double drag = 0.99;
+
+    private static final double lnDrag = Math.log(drag);
+    private static final double dragRatio = drag / (1.0 - drag);
+
+    // Newton settings for the intercept solve
+    private static final int maxIterations = 8;
+    private static final double convergedError = 0.005; // Relative launch speed error to stop early
+
+    public static double velocitySum(double ticks) {
+        return dragRatio * (1.0 - Math.exp(ticks * lnDrag));
+    }
+
+    public static double gravitySum(double ticks) {
+        return dragRatio * (ticks - velocitySum(ticks));
+    }
+
+    // Launch velocity (one axis) that covers this displacement in exactly n ticks
+    public static double launchVelocity(double displacement, double ticks) {
+        return displacement / velocitySum(ticks);
+    }
+
+    public static double launchVelocityY(double displacementY, double ticks) {
+        return (displacementY + gravity * gravitySum(ticks)) / velocitySum(ticks);
+    }
+
+    // Flight time in ticks for a throw at the given speed to meet a target that starts at offset r
+    // (from the launch point) and moves u per tick. Newton on |W(n)|^2 - speed^2 * S(n)^2 = 0, where
+    // W is the launch velocity times S(n), starting from guess and kept inside [minTicks, maxTicks].
+    // Returns the ticks if the launch speed needed there is within maxRelError of speed, otherwise -1.
+    public static double solveInterceptTicks(double rx, double ry, double rz, double ux, double uy, double uz,
+                                             double speed, double guess, double minTicks, double maxTicks,
+                                             double maxRelError) {
+        double n = Math.max(minTicks, Math.min(maxTicks, guess));
+        double speedSq = speed * speed;
+
+        for (int iter = 0; iter < maxIterations; iter++) {
+            double dn = Math.exp(n * lnDrag);
+            double s = dragRatio * (1.0 - dn);
+            double ds = -dragRatio * dn * lnDrag;
+            double g = dragRatio * (n - s);
+            double dg = dragRatio * (1.0 - ds);
+
+            double wx = rx + ux * n;
+            double wy = ry + uy * n + gravity * g;
+            double wz = rz + uz * n;
+            double wSq = wx * wx + wy * wy + wz * wz;
+
+            if (Math.abs(Math.sqrt(wSq) / s - speed) <= convergedError * speed) return n;
+
+            double f = wSq - speedSq * s * s;
+            double df = 2.0 * (wx * ux + wy * (uy + gravity * dg) + wz * uz - speedSq * s * ds);
+            if (Math.abs(df) < 1e-12) break;
+
+            double next = Math.max(minTicks, Math.min(maxTicks, n - f / df));
+            if (next == n) break; // Pinned against a bound
+            n = next;
+        }
+
+        // Not converged, judge wherever it ended up
+        double s = velocitySum(n);
+        double wx = rx + ux * n;
+        double wy = ry + uy * n + gravity * gravitySum(n);
+        double wz = rz + uz * n;
+        double relError = Math.abs(Math.sqrt(wx * wx + wy * wy + wz * wz) / s - speed) / speed;
+        return relError <= maxRelError ? n : -1.0;
+    }
+
+    private ProjectilePhysics() {}
+}
@@ -0,0 +1,171 @@
+package win.demistorm;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Registry of live projectiles in one world, enforcing the per-player, per-chunk and per-world limits from
+// the config. Owned by the world's ProjectileManager, server thread only. The owner index is shared by
+// every world so a player's limit counts all dimensions together.
+// Deques are in registration order and cleaned lazily, so unregistering is O(1).
+final class ProjectileQuotas {
+
+    // Chunk counts need positions, so they're only rebuilt this often
+    private static final int chunkCheckInterval = 10;
+
+    private static final Map<UUID, Owned> BY_OWNER = new HashMap<>();
+    private final ArrayDeque<ThrownProjectileEntity> all = new ArrayDeque<>();
+    private int live = 0;
+    private long nextSeq = 0;
+    private boolean dirty = false; // Something registered since the last enforce
+
+    private final Long2IntOpenHashMap chunkCounts = new Long2IntOpenHashMap();
+    private final ObjectArrayList<ThrownProjectileEntity> chunkScratch = new ObjectArrayList<>();
+
+    private static final class Owned {
+        final ArrayDeque<ThrownProjectileEntity> queue = new ArrayDeque<>();
+        int live = 0;
+    }
+
+    private static final Comparator<ThrownProjectileEntity> OLDEST_FIRST =
+            Comparator.comparingLong(p -> p.quotaSeq);
+
+    void add(ThrownProjectileEntity proj) {
+        if (proj.quotaSeq >= 0) return;
+        proj.quotaSeq = nextSeq++;
+        proj.quotaHome = this;
+
+        Entity owner = proj.getOwner();
+        proj.quotaOwner = owner != null ? owner.getUuid() : null;
+        if (proj.quotaOwner != null) {
+            Owned owned = BY_OWNER.computeIfAbsent(proj.quotaOwner, k -> new Owned());
+            owned.queue.addLast(proj);
+            owned.live++;
+        }
+
+        all.addLast(proj);
+        live++;
+        dirty = true;
+    }
+
+    // Counts come off the world the projectile registered in, which isn't this one for a player eviction
+    void remove(ThrownProjectileEntity proj) {
+        if (proj.quotaSeq < 0) return;
+        ProjectileQuotas home = proj.quotaHome;
+        proj.quotaSeq = -1;
+        proj.quotaHome = null;
+        home.live--;
+
+        if (proj.quotaOwner != null) {
+            Owned owned = BY_OWNER.get(proj.quotaOwner);
+            if (owned != null) {
+                if (--owned.live <= 0) BY_OWNER.remove(proj.quotaOwner);
+                else if (owned.queue.size() > owned.live * 2 + 16) owned.queue.removeIf(p -> p.quotaSeq < 0);
+            }
+            proj.quotaOwner = null;
+        }
+
+        // Stale entries are skipped on poll, trim if they start to pile up
+        if (home.all.size() > home.live * 2 + 64) home.all.removeIf(p -> p.quotaSeq < 0);
+    }
+
+    // Projectiles unload with their worlds, this only catches anything left over
+    static void clearOwners() {
+        BY_OWNER.clear();
+    }
+
+    // Player and world limits, only when something new came in. Evicting is deferred to here
+    // (start of the manager step) so nothing is discarded from inside an entity load event.
+    void enforce() {
+        if (!dirty) return;
+        dirty = false;
+
+        ConfigHelper.Data cfg = ConfigHelper.ACTIVE;
+        boolean giveBack = cfg.returnEvictedToOwner;
+
+        // Server-wide, so this can evict a projectile in another world
+        int perPlayer = cfg.maxProjectilesPerPlayer;
+        if (perPlayer > 0) {
+            for (Owned owned : BY_OWNER.values().toArray(new Owned[0])) {
+                while (owned.live > perPlayer) {
+                    ThrownProjectileEntity oldest = pollLive(owned.queue);
+                    if (oldest == null) break;
+                    evict(oldest, giveBack, "player");
+                }
+            }
+        }
+
+        int perWorld = cfg.maxProjectilesPerWorld;
+        if (perWorld > 0) {
+            while (live > perWorld) {
+                ThrownProjectileEntity oldest = pollLive(all);
+                if (oldest == null) break;
+                evict(oldest, giveBack, "world");
+            }
+        }
+    }
+
+    // Chunk limit over the positions the manager just gathered (non-idle slots only)
+    void enforceChunks(long time, ThrownProjectileEntity[] entities, byte[] mode, double[] pos, int n) {
+        int perChunk = ConfigHelper.ACTIVE.maxProjectilesPerChunk;
+        if (perChunk <= 0 || live <= perChunk || time % chunkCheckInterval != 0) return;
+
+        chunkCounts.clear();
+        boolean over = false;
+        for (int i = 0; i < n; i++) {
+            if (mode[i] == ProjectileManager.MODE_IDLE || entities[i] == null) continue;
+            if (chunkCounts.addTo(chunkKey(pos, i), 1) + 1 > perChunk) over = true;
+        }
+        if (!over) return;
+
+        boolean giveBack = ConfigHelper.ACTIVE.returnEvictedToOwner;
+        for (var entry : chunkCounts.long2IntEntrySet()) {
+            int excess = entry.getIntValue() - perChunk;
+            if (excess <= 0) continue;
+
+            long key = entry.getLongKey();
+            chunkScratch.clear();
+            for (int i = 0; i < n; i++) {
+                if (mode[i] == ProjectileManager.MODE_IDLE || entities[i] == null) continue;
+                if (chunkKey(pos, i) == key) chunkScratch.add(entities[i]);
+            }
+            chunkScratch.sort(OLDEST_FIRST);
+            for (int j = 0; j < excess && j < chunkScratch.size(); j++) {
+                evict(chunkScratch.get(j), giveBack, "chunk");
+            }
+        }
+        chunkScratch.clear();
+    }
+
+    private static long chunkKey(double[] pos, int i) {
+        int cx = MathHelper.floor(pos[i * 3]) >> 4;
+        int cz = MathHelper.floor(pos[i * 3 + 2]) >> 4;
+        return ChunkPos.toLong(cx, cz);
+    }
+
+    // Oldest entry that's still registered here, dropping stale ones on the way
+    private static ThrownProjectileEntity pollLive(ArrayDeque<ThrownProjectileEntity> queue) {
+        ThrownProjectileEntity p;
+        while ((p = queue.pollFirst()) != null) {
+            if (p.quotaSeq >= 0 && !p.isRemoved()) return p;
+        }
+        return null;
+    }
+
+    private void evict(ThrownProjectileEntity proj, boolean giveBack, String limit) {
+        if (proj.isRemoved()) return;
+        log.debug("[Quota] Evicting projectile {} over the {} limit", proj.getId(), limit);
+        proj.evict(giveBack);
+        remove(proj); // Unload does this too, but counts have to drop before the next loop check
+    }
+}
@@ -0,0 +1,120 @@
+package win.demistorm;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.util.Arrays;
+
+// Uniform grid of int ids keyed by packed cell coordinates. Rebuilt from scratch (clear + insert)
+// rather than updated, entries per cell are an intrusive linked list in flat arrays.
+public final class SpatialHash {
+
+    private final double cellSize;
+    private final double invCell;
+    private final double cellRadius; // Center to corner
+
+    private final Long2IntOpenHashMap heads = new Long2IntOpenHashMap(); // Cell -> first entry
+    private int[] entryId = new int[256];
+    private int[] entryNext = new int[256];
+    private int entries = 0;
+
+    // Per-id stamp so an id spanning several cells is only reported once per query
+    private int[] seen = new int[64];
+    private int stamp = 0;
+
+    public SpatialHash(double cellSize) {
+        this.cellSize = cellSize;
+        this.invCell = 1.0 / cellSize;
+        this.cellRadius = cellSize * Math.sqrt(3.0) * 0.5;
+        heads.defaultReturnValue(-1);
+    }
+
+    public void clear() {
+        heads.clear();
+        entries = 0;
+    }
+
+    public int entries() {
+        return entries;
+    }
+
+    // Adds id to every cell the box touches
+    public void insert(int id, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (id >= seen.length) seen = Arrays.copyOf(seen, Math.max(id + 1, seen.length * 2));
+
+        int x0 = cell(minX), y0 = cell(minY), z0 = cell(minZ);
+        int x1 = cell(maxX), y1 = cell(maxY), z1 = cell(maxZ);
+        for (int x = x0; x <= x1; x++) {
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    if (entries == entryId.length) {
+                        entryId = Arrays.copyOf(entryId, entries * 2);
+                        entryNext = Arrays.copyOf(entryNext, entries * 2);
+                    }
+                    long key = key(x, y, z);
+                    int e = entries++;
+                    entryId[e] = id;
+                    entryNext[e] = heads.get(key);
+                    heads.put(key, e);
+                }
+            }
+        }
+    }
+
+    // Ids in cells within radius of the segment a -> b, each once. Cells are only culled, the caller
+    // still does the exact test. Returns how many ids were added to out.
+    public int querySegment(double ax, double ay, double az, double bx, double by, double bz,
+                            double radius, IntArrayList out) {
+        if (entries == 0) return 0;
+        if (++stamp == 0) { // Wrapped, old stamps could collide
+            Arrays.fill(seen, 0);
+            stamp = 1;
+        }
+
+        int x0 = cell(Math.min(ax, bx) - radius), x1 = cell(Math.max(ax, bx) + radius);
+        int y0 = cell(Math.min(ay, by) - radius), y1 = cell(Math.max(ay, by) + radius);
+        int z0 = cell(Math.min(az, bz) - radius), z1 = cell(Math.max(az, bz) + radius);
+
+        double dx = bx - ax, dy = by - ay, dz = bz - az;
+        double lenSq = dx * dx + dy * dy + dz * dz;
+        double reach = radius + cellRadius;
+        double reachSq = reach * reach;
+
+        int added = 0;
+        for (int x = x0; x <= x1; x++) {
+            double cx = (x + 0.5) * cellSize;
+            for (int y = y0; y <= y1; y++) {
+                double cy = (y + 0.5) * cellSize;
+                for (int z = z0; z <= z1; z++) {
+                    int e = heads.get(key(x, y, z));
+                    if (e < 0) continue;
+
+                    // Skip cells the swept segment can't reach (box corners on long diagonal sweeps)
+                    double cz = (z + 0.5) * cellSize;
+                    double t = lenSq > 0 ? ((cx - ax) * dx + (cy - ay) * dy + (cz - az) * dz) / lenSq : 0;
+                    t = t < 0 ? 0 : (t > 1 ? 1 : t);
+                    double px = ax + dx * t - cx, py = ay + dy * t - cy, pz = az + dz * t - cz;
+                    if (px * px + py * py + pz * pz > reachSq) continue;
+
+                    for (; e >= 0; e = entryNext[e]) {
+                        int id = entryId[e];
+                        if (seen[id] == stamp) continue;
+                        seen[id] = stamp;
+                        out.add(id);
+                        added++;
+                    }
+                }
+            }
+        }
+        return added;
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v * invCell);
+    }
+
+    // 21 bits per axis, wraps far outside any world border
+    private static long key(int x, int y, int z) {
+        return ((long) (x & 0x1FFFFF) << 42) | ((long) (y & 0x1FFFFF) << 21) | (long) (z & 0x1FFFFF);
+    }
+}
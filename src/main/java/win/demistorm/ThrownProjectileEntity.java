@@ -1,18 +1,18 @@
 package win.demistorm;
 
-import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
-import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.attribute.EntityAttributes;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.damage.DamageSources;
 import net.minecraft.entity.data.DataTracker;
 import net.minecraft.entity.data.TrackedData;
 import net.minecraft.entity.data.TrackedDataHandlerRegistry;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.projectile.ProjectileUtil;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.particle.ItemStackParticleEffect;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -22,10 +22,14 @@ import net.minecraft.util.hit.EntityHitResult;
 import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.RaycastContext;
 import net.minecraft.world.World;
+import org.joml.Vector3f;
 import win.demistorm.effects.BoomerangEffect;
 import win.demistorm.effects.EmbeddingEffect;
-import win.demistorm.network.NetworkHelper;
+import win.demistorm.network.EffectBus;
+
+import java.util.UUID;
 
 import static win.demistorm.VRThrowingExtensions.log;
 
@@ -34,7 +38,10 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
     private int stackSize = 1;
     public boolean catching = false;                // Whether this projectile is being caught
     private Vec3d storedVelocity = Vec3d.ZERO;      // Stores velocity before catching
+    private PlayerEntity catcher = null;            // Player pulling this projectile (server only)
+    private Vec3d catchAnchor = null;               // Catching hand relative to the catcher, null until first update
     private int immunityTicks = 20;            // Prevents hitting the thrower immediately
+    private int rewindTicks = 0;               // Lag compensation, how far behind the thrower saw targets
 
     // Boomerang state tracking
     private int bounceReturnTicks = 0;              // Time spent in return flight
@@ -53,6 +60,28 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
     private boolean alreadyDropped = false;         // Prevent duplicate drops via removal
     private float embeddedLocalYaw = 0f;            // Yaw relative to host yaw
     private float embeddedLocalPitch = 0f;          // Pitch relative to host pitch
+    private Vec3d embedSyncedPos = null;            // What the tracker sees while embedded, see getSyncedPos
+
+    // Embed host saved to disk, resolved once it has loaded too
+    private UUID pendingHostUuid = null;
+    private int hostResolveWait = 0;
+    private static final int hostResolveTicks = 40; // Give up and drop after this long
+
+    // Save format, bump when a field changes meaning
+    private static final String nbtKey = "VRThrow";
+    private static final int nbtVersion = 1;
+
+    // Slot in the world's ProjectileManager (-1 when not registered)
+    int projectileSlot = -1;
+
+    // Quota bookkeeping: registration order, the owner counted against and the world's registry it's
+    // counted in (server only, not saved)
+    long quotaSeq = -1;
+    UUID quotaOwner = null;
+    ProjectileQuotas quotaHome = null;
+
+    // Velocity damping per tick while being caught
+    public static final double catchDrag = 0.95;
 
     public ThrownProjectileEntity(EntityType<? extends ThrownProjectileEntity> type, World world) {
         super(type, world);
@@ -64,6 +93,10 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
     private static final TrackedData<Boolean> IS_CATCHING =
             DataTracker.registerData(ThrownProjectileEntity.class,
                     TrackedDataHandlerRegistry.BOOLEAN);
+    // Thrower's sequence number for this throw, matches it to the thrower's predicted projectile (-1 = none)
+    private static final TrackedData<Integer> THROW_SEQ =
+            DataTracker.registerData(ThrownProjectileEntity.class,
+                    TrackedDataHandlerRegistry.INTEGER);
 
     // Tracked data for client sync
     private static final TrackedData<Boolean> BOUNCE_ACTIVE =
@@ -74,6 +107,14 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
     private static final TrackedData<Boolean> IS_EMBEDDED =
             DataTracker.registerData(ThrownProjectileEntity.class,
                     TrackedDataHandlerRegistry.BOOLEAN);
+    // Host id and host-local offset, so clients can follow the host themselves without position syncs
+    private static final TrackedData<Integer> EMBED_HOST =
+            DataTracker.registerData(ThrownProjectileEntity.class,
+                    TrackedDataHandlerRegistry.INTEGER);
+    private static final TrackedData<Vector3f> EMBED_OFFSET =
+            DataTracker.registerData(ThrownProjectileEntity.class,
+                    TrackedDataHandlerRegistry.VECTOR_3F);
+    // Yaw/pitch relative to the host body yaw / head pitch, set once on embed
     private static final TrackedData<Float> EMBED_YAW =
             DataTracker.registerData(ThrownProjectileEntity.class,
                     TrackedDataHandlerRegistry.FLOAT);
@@ -93,8 +134,11 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         super.initDataTracker(builder);
         builder.add(HAND_ROLL, 0f);
         builder.add(IS_CATCHING, false);
+        builder.add(THROW_SEQ, -1);
         builder.add(BOUNCE_ACTIVE, false);
         builder.add(IS_EMBEDDED, false);
+        builder.add(EMBED_HOST, -1);
+        builder.add(EMBED_OFFSET, new Vector3f());
         builder.add(EMBED_YAW, 0f);
         builder.add(EMBED_PITCH, 0f);
         builder.add(EMBED_ROLL, 0f);
@@ -108,11 +152,31 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         return this.dataTracker.get(HAND_ROLL);
     }
 
-    public void startCatch() {
+    public void setThrowSeq(int seq) {
+        this.dataTracker.set(THROW_SEQ, seq);
+    }
+
+    public int getThrowSeq() {
+        return this.dataTracker.get(THROW_SEQ);
+    }
+
+    public void setRewindTicks(int ticks) {
+        this.rewindTicks = ticks;
+    }
+
+    // Ticks to rewind targets by for this tick's entity collision, 0 once the outbound flight is old
+    public int compensatedRewind() {
+        if (bounceActive || hasBounced || age >= EntityHistory.compensatedFlightTicks) return 0;
+        return rewindTicks;
+    }
+
+    public void startCatch(PlayerEntity catcher) {
         // Release embedding state when catching is called
         EmbeddingEffect.releaseEmbedding(this);
 
         this.catching = true;
+        this.catcher = catcher;
+        this.catchAnchor = null;
         this.storedVelocity = getVelocity();
         this.dataTracker.set(IS_CATCHING, true);
 
@@ -123,6 +187,8 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
 
     public void cancelCatch() {
         this.catching = false;
+        this.catcher = null;
+        this.catchAnchor = null;
         this.dataTracker.set(IS_CATCHING, false);
 
         // Restore gravity
@@ -137,6 +203,20 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         log.debug("[VR Catch] Canceled catch for projectile {}", this.getId());
     }
 
+    // Hand anchor from the catching client, relative to the catcher so walking doesn't need updates
+    public void setCatchAnchor(Vec3d offset) {
+        this.catchAnchor = offset;
+    }
+    public PlayerEntity getCatcher() {
+        return this.catcher;
+    }
+
+    // World position of the catching hand, null if there's nothing to pull toward
+    Vec3d catchTarget() {
+        if (catcher == null || catchAnchor == null || !catcher.isAlive() || catcher.getWorld() != getWorld()) return null;
+        return catcher.getPos().add(catchAnchor);
+    }
+
     // Data trackers
     public boolean isCatching() {
         return this.dataTracker.get(IS_CATCHING);
@@ -166,54 +246,118 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
             immunityTicks--;
         }
 
-        // Checks if projectile is embedded
-        if (isEmbedded() && !isCatching()) {
-            EmbeddingEffect.tickEmbedded(this);
-            return; //
+        // Server-side modes (embedded, boomerang, catching) are stepped by ProjectileManager
+        // once every entity in the world has ticked
+        if (!getWorld().isClient()) return;
+
+        // Client follows the host itself, the server doesn't send position syncs for this
+        if (isEmbedded()) {
+            if (getEmbedHost() instanceof LivingEntity host) {
+                Vector3f o = this.dataTracker.get(EMBED_OFFSET);
+                setPosition(embedFollowPos(host, new Vec3d(o.x(), o.y(), o.z())));
+            }
+            return;
         }
 
-        // Boomerang return handling
-        if (bounceActive && !isCatching()) {
-            bounceReturnTicks++;
+        // Client copy still damps while being caught so the magnetism looks smooth
+        if (isCatching() && !isEmbedded()) {
+            Vec3d vel = getVelocity();
+            setVelocity(vel.multiply(catchDrag));
+        }
+    }
 
-            // Return logic end
-            if (BoomerangEffect.tickReturn(this)) {
-                // Reached origin so it converts over to a regular projectile again
-                bounceActive = false;
-                reachedOriginOnce = true;
-                this.dataTracker.set(BOUNCE_ACTIVE, false);
+    // Advances a fresh throw by flight time the server missed (release -> packet handled), before it spawns.
+    // Same per-tick physics as ThrownEntity, the last partial tick only moves. Stops short of the first
+    // block or entity in the way so the first real tick does the hit with the normal logic.
+    public void catchUp(double ticks) {
+        if (ticks <= 0) return;
+        World world = getWorld();
+        Vec3d pos = getPos();
+        Vec3d vel = getVelocity();
+        double remaining = ticks;
+
+        while (remaining > 1.0e-3) {
+            double step = Math.min(1.0, remaining);
+            remaining -= step;
+
+            Vec3d stepVel = vel;
+            if (step >= 1.0) {
+                stepVel = vel.add(0, hasNoGravity() ? 0 : -ProjectilePhysics.gravity, 0).multiply(ProjectilePhysics.drag);
+            }
+            Vec3d next = pos.add(stepVel.multiply(step));
 
-                // Restore gravity but preserve the current velocity
-                setNoGravity(false);
+            HitResult block = world.raycast(new RaycastContext(pos, next,
+                    RaycastContext.ShapeType.COLLIDER, RaycastContext.FluidHandling.NONE, this));
+            if (block.getType() != HitResult.Type.MISS) break;
 
-                // Instead of dropping straight down, preserve the return velocity
-                Vec3d returnVel = getVelocity();
+            Entity owner = getOwner();
+            EntityHitResult entity = ProjectileUtil.getEntityCollision(world, this, pos, next,
+                    getBoundingBox().stretch(next.subtract(pos)).expand(1.0),
+                    e -> e != owner && canHit(e), ProjectileUtil.getToleranceMargin(this));
+            if (entity != null) break;
 
-                double currentSpeed = returnVel.length();
-                if (currentSpeed > 1.0) {
-                    // Caps the speed to prevent items flying too far
-                    returnVel = returnVel.normalize().multiply(Math.min(currentSpeed, 1.0));
-                }
+            pos = next;
+            if (step >= 1.0) vel = stepVel; // A partial step only moves, the next real tick does the full update
+            setPosition(pos);
+        }
+        setVelocity(vel);
 
-                // Apply the preserved velocity so that it naturally falls
-                setVelocity(returnVel);
+        log.debug("[VR Throw] Caught projectile up by {} ticks to {}", String.format("%.2f", ticks), pos);
+    }
 
-                log.debug("[VR Throw] Projectile {} completed boomerang return after {} ticks, continuing with velocity {}",
-                        this.getId(), bounceReturnTicks, returnVel);
-            }
+    // Which branch ProjectileManager should run for this projectile
+    byte flightMode() {
+        if (isCatching()) return ProjectileManager.MODE_CATCH;
+        if (isEmbedded()) return ProjectileManager.MODE_EMBEDDED;
+        if (bounceActive) return ProjectileManager.MODE_BOOMERANG;
+        return ProjectileManager.MODE_FLIGHT;
+    }
+
+    // Boomerang return bookkeeping, called by ProjectileManager after the steering kernel ran
+    void afterBoomerangStep(boolean reachedOrigin) {
+        bounceReturnTicks++;
+
+        // Return logic end
+        if (reachedOrigin) {
+            log.debug("[Boomerang] Projectile {} reached origin (dist={})",
+                    this.getId(), String.format("%.3f", getPos().distanceTo(originalThrowPos)));
+
+            // Reached origin so it converts over to a regular projectile again
+            bounceActive = false;
+            reachedOriginOnce = true;
+            this.dataTracker.set(BOUNCE_ACTIVE, false);
+
+            // Restore gravity but preserve the current velocity
+            setNoGravity(false);
+
+            // Instead of dropping straight down, preserve the return velocity
+            Vec3d returnVel = getVelocity();
 
-            // Stops the bounce if something goes wrong
-            if (bounceReturnTicks > 200) { // ~10 seconds at 20 TPS
-                log.debug("[VR Throw] Projectile {} return timed out, dropping", this.getId());
-                stopBoomerang();
+            double currentSpeed = returnVel.length();
+            if (currentSpeed > 1.0) {
+                // Caps the speed to prevent items flying too far
+                returnVel = returnVel.normalize().multiply(Math.min(currentSpeed, 1.0));
             }
+
+            // Apply the preserved velocity so that it naturally falls
+            setVelocity(returnVel);
+
+            log.debug("[VR Throw] Projectile {} completed boomerang return after {} ticks, continuing with velocity {}",
+                    this.getId(), bounceReturnTicks, returnVel);
         }
 
-        // Don't apply normal physics if being caught
-        if (isCatching()) {
-            // Apply slight air resistance to smooth magnetism effect
-            Vec3d vel = getVelocity();
-            setVelocity(vel.multiply(0.95));
+        // DEBUG
+        if (bounceActive && this.age % 20 == 0) {
+            log.debug("[Boomerang] Return: dist={}, speed={}, arcLen={}",
+                    String.format("%.2f", getPos().distanceTo(originalThrowPos)),
+                    String.format("%.3f", getVelocity().length()),
+                    String.format("%.2f", bounceCurveOffset.length()));
+        }
+
+        // Stops the bounce if something goes wrong
+        if (bounceReturnTicks > 200) { // ~10 seconds at 20 TPS
+            log.debug("[VR Throw] Projectile {} return timed out, dropping", this.getId());
+            stopBoomerang();
         }
     }
 
@@ -326,7 +470,7 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
 
         // Grabs the base damage from the itemStack and applies enchantment bonuses on top
         float base = stackBaseDamage(getStack());
-        float totalDamage = EnchantmentHelper.getDamage(world, getStack(), target, src, base);
+        float totalDamage = DamageProfileCache.damageAgainst(world, getStack(), target, src);
         float enchantmentBonus = totalDamage - base; // For DEBUG
 
         // DEBUG
@@ -355,15 +499,8 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         // DRAFT Blood Effect
         // NEW: Send blood particle packet if damage was dealt
         if (totalDamage > 0 && !world.isClient()) {
-            Vec3d hitPos = res.getPos();
-            Vec3d hitVel = getVelocity();
-
-            for (net.minecraft.server.network.ServerPlayerEntity player : world.getServer().getPlayerManager().getPlayerList()) {
-                if (player.getWorld() == world && player.squaredDistanceTo(hitPos) < 4096) { // 64 blocks
-                    net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking.send(
-                            player, new NetworkHelper.BloodParticlePacket(hitPos, hitVel));
-                }
-            }
+            // Only players tracking the hit chunk, detail drops off with distance
+            EffectBus.blood(world, res.getPos(), getVelocity());
         }
 
         // Adds a little knockback
@@ -383,17 +520,9 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         return drop;
     }
 
-    // Checks the attack damage of a given item
+    // Checks the attack damage of a given item (cached per item + components)
     public static float stackBaseDamage(ItemStack stack) {
-        final float[] totalBonus = {0f};
-
-        stack.applyAttributeModifiers(EquipmentSlot.MAINHAND, (attrEntry, modifier) -> {
-            if (attrEntry == EntityAttributes.ATTACK_DAMAGE) {
-                totalBonus[0] += (float) modifier.value();
-            }
-        });
-
-        return 1.0F + totalBonus[0]; // 1.0 base punch + item’s modifier
+        return DamageProfileCache.baseDamage(stack);
     }
 
     // Clears spawn immunity
@@ -402,6 +531,121 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         log.debug("[VR Throw] Projectile {} spawn immunity cleared", this.getId());
     }
 
+    // Full projectile state, so stacks, boomerang returns and embeds survive unloads and restarts
+    @Override
+    protected void writeCustomDataToNbt(NbtCompound nbt) {
+        super.writeCustomDataToNbt(nbt);
+
+        // Catching isn't saved (the catcher is gone after a reload), so save it the way cancelCatch leaves it.
+        // Otherwise the NoGravity from startCatch comes back and the projectile floats forever
+        if (catching && !isEmbedded() && !bounceActive) nbt.remove("NoGravity");
+
+        NbtCompound data = new NbtCompound();
+        data.putInt("Version", nbtVersion);
+        data.putInt("StackSize", stackSize);
+        data.putFloat("HandRoll", getHandRoll());
+
+        // Boomerang
+        putVec(data, "Origin", originalThrowPos);
+        data.putBoolean("HasBounced", hasBounced);
+        data.putBoolean("BounceActive", bounceActive);
+        data.putInt("BounceTicks", bounceReturnTicks);
+        data.putBoolean("ReachedOrigin", reachedOriginOnce);
+        putVec(data, "CurveOffset", bounceCurveOffset);
+        putVec(data, "PlaneNormal", bouncePlaneNormal);
+        data.putDouble("ArcMag", bounceArcMag);
+        data.putBoolean("Inverse", bounceInverse);
+
+        // Embedding, the host is stored by UUID and looked up again after loading
+        UUID host = embeddedTarget != null ? embeddedTarget.getUuid() : pendingHostUuid;
+        if (isEmbedded() && host != null) {
+            data.putLong("HostMost", host.getMostSignificantBits());
+            data.putLong("HostLeast", host.getLeastSignificantBits());
+            putVec(data, "EmbedOffset", embeddedOffset);
+            data.putFloat("EmbedYaw", embeddedLocalYaw);
+            data.putFloat("EmbedPitch", embeddedLocalPitch);
+            data.putFloat("EmbedRoll", getEmbedRoll());
+            data.putFloat("EmbedTilt", getEmbedTilt());
+        }
+
+        nbt.put(nbtKey, data);
+    }
+
+    @Override
+    protected void readCustomDataFromNbt(NbtCompound nbt) {
+        super.readCustomDataFromNbt(nbt);
+
+        NbtCompound data = nbt.getCompoundOrEmpty(nbtKey);
+        int version = data.getInt("Version", 0);
+        if (version == 0) return; // Saved before any of this existed
+        if (version > nbtVersion) {
+            log.warn("[VR Throw] Projectile saved with newer format {} (this version reads {}), loading what we know",
+                    version, nbtVersion);
+        }
+
+        stackSize = Math.max(1, data.getInt("StackSize", 1));
+        setHandRoll(data.getFloat("HandRoll", 0f));
+
+        originalThrowPos = getVec(data, "Origin");
+        hasBounced = data.getBoolean("HasBounced", false);
+        bounceActive = data.getBoolean("BounceActive", false);
+        bounceReturnTicks = data.getInt("BounceTicks", 0);
+        reachedOriginOnce = data.getBoolean("ReachedOrigin", false);
+        bounceCurveOffset = getVec(data, "CurveOffset");
+        bouncePlaneNormal = getVec(data, "PlaneNormal");
+        bounceArcMag = data.getDouble("ArcMag", 0.0);
+        bounceInverse = data.getBoolean("Inverse", true);
+        this.dataTracker.set(BOUNCE_ACTIVE, bounceActive);
+
+        if (data.contains("HostMost")) {
+            pendingHostUuid = new UUID(data.getLong("HostMost", 0L), data.getLong("HostLeast", 0L));
+            hostResolveWait = 0;
+            embeddedOffset = getVec(data, "EmbedOffset");
+            embeddedLocalYaw = data.getFloat("EmbedYaw", 0f);
+            embeddedLocalPitch = data.getFloat("EmbedPitch", 0f);
+            this.dataTracker.set(IS_EMBEDDED, true);
+            this.dataTracker.set(EMBED_OFFSET, embeddedOffset.toVector3f());
+            this.dataTracker.set(EMBED_YAW, embeddedLocalYaw);
+            this.dataTracker.set(EMBED_PITCH, embeddedLocalPitch);
+            this.dataTracker.set(EMBED_ROLL, data.getFloat("EmbedRoll", 0f));
+            this.dataTracker.set(EMBED_TILT, data.getFloat("EmbedTilt", 0f));
+        }
+    }
+
+    private static void putVec(NbtCompound nbt, String key, Vec3d v) {
+        nbt.putDouble(key + "X", v.x);
+        nbt.putDouble(key + "Y", v.y);
+        nbt.putDouble(key + "Z", v.z);
+    }
+
+    private static Vec3d getVec(NbtCompound nbt, String key) {
+        return new Vec3d(nbt.getDouble(key + "X", 0.0), nbt.getDouble(key + "Y", 0.0), nbt.getDouble(key + "Z", 0.0));
+    }
+
+    // True while a loaded embed is still looking for its host
+    public boolean isWaitingForHost() {
+        return pendingHostUuid != null;
+    }
+
+    // Looks the saved host up, returns it once found. Gives up after hostResolveTicks (the embed then drops).
+    public LivingEntity tryResolveHost() {
+        if (pendingHostUuid == null || !(getWorld() instanceof ServerWorld sw)) return null;
+
+        if (sw.getEntity(pendingHostUuid) instanceof LivingEntity host && host.isAlive()) {
+            pendingHostUuid = null;
+            this.embeddedTarget = host;
+            this.dataTracker.set(EMBED_HOST, host.getId());
+            this.embedSyncedPos = getPos();
+            log.debug("[Embed] Projectile {} re-attached to {} after loading", getId(), host.getName().getString());
+            return host;
+        }
+        if (++hostResolveWait > hostResolveTicks) {
+            log.debug("[Embed] Projectile {} gave up waiting for its host", getId());
+            pendingHostUuid = null;
+        }
+        return null;
+    }
+
     // Placeholder item for ThrownItemEntity's sake
     @Override
     protected Item getDefaultItem() {
@@ -421,6 +665,7 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         this.setNoGravity(true);
         this.setVelocity(Vec3d.ZERO);
         this.setPosition(host.getPos().add(worldOffset));
+        this.embedSyncedPos = getPos();
 
         // Convert world-space offset to host-local space (rotate by -host BODY yaw)
         float hostBodyYaw = host.getBodyYaw();
@@ -432,10 +677,12 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         this.embeddedLocalYaw = MathHelper.wrapDegrees(yawDeg - hostBodyYaw);
         this.embeddedLocalPitch = MathHelper.wrapDegrees(pitchDeg - hostPitch);
 
-        // Network embed state for clients (stores current world orientation)
+        // Network embed state for clients (host-local, clients combine it with the host's rotation)
         this.dataTracker.set(IS_EMBEDDED, true);
-        this.dataTracker.set(EMBED_YAW, yawDeg);
-        this.dataTracker.set(EMBED_PITCH, pitchDeg);
+        this.dataTracker.set(EMBED_HOST, host.getId());
+        this.dataTracker.set(EMBED_OFFSET, localOffset.toVector3f());
+        this.dataTracker.set(EMBED_YAW, this.embeddedLocalYaw);
+        this.dataTracker.set(EMBED_PITCH, this.embeddedLocalPitch);
         this.dataTracker.set(EMBED_ROLL, initialXRollDeg);
         this.dataTracker.set(EMBED_TILT, tiltDeg);
 
@@ -455,27 +702,54 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         }
 
         this.dataTracker.set(IS_EMBEDDED, false);
+        this.dataTracker.set(EMBED_HOST, -1);
         this.embeddedTarget = null;
+        this.embedSyncedPos = null;
+        this.pendingHostUuid = null;
         this.embeddedOffset = Vec3d.ZERO;
         this.embeddedLocalYaw = 0f;
         this.embeddedLocalPitch = 0f;
         this.setNoGravity(false);
     }
 
+    // The tracker sends moves when this changes. While embedded it stays at the embed point, clients place the
+    // projectile from the synced host and offset themselves, so following the host costs no move packets
+    @Override
+    public Vec3d getSyncedPos() {
+        return this.embedSyncedPos != null ? this.embedSyncedPos : super.getSyncedPos();
+    }
+
     // Embedding accessors for renderer/tick
     public boolean isEmbedded() { return this.dataTracker.get(IS_EMBEDDED); }
-    public float getEmbedYaw()  { return this.dataTracker.get(EMBED_YAW); }
-    public float getEmbedPitch(){ return this.dataTracker.get(EMBED_PITCH); }
+    // World yaw/pitch: host rotation plus the local embed orientation
+    public float getEmbedYaw() {
+        float local = this.dataTracker.get(EMBED_YAW);
+        return getEmbedHost() instanceof LivingEntity host ? MathHelper.wrapDegrees(host.getBodyYaw() + local) : local;
+    }
+    public float getEmbedPitch() {
+        float local = this.dataTracker.get(EMBED_PITCH);
+        return getEmbedHost() instanceof LivingEntity host ? MathHelper.wrapDegrees(host.getPitch() + local) : local;
+    }
     public float getEmbedRoll() { return this.dataTracker.get(EMBED_ROLL); }
     public void setEmbedRoll(float v) { this.dataTracker.set(EMBED_ROLL, v); }
     public float getEmbedTilt() { return this.dataTracker.get(EMBED_TILT); } // NEW
     public Entity getEmbeddedTarget() { return this.embeddedTarget; }
 
+    // Server knows the host directly, clients look it up by the synced id
+    private Entity getEmbedHost() {
+        if (this.embeddedTarget != null) return this.embeddedTarget;
+        int id = this.dataTracker.get(EMBED_HOST);
+        return id >= 0 ? getWorld().getEntityById(id) : null;
+    }
+
+    // Embed point for the host's current position and body yaw
+    public static Vec3d embedFollowPos(LivingEntity host, Vec3d localOffset) {
+        return host.getPos().add(rotateY(localOffset, host.getBodyYaw()));
+    }
+
     public Vec3d getEmbeddedOffset()      { return this.embeddedOffset; }
     public float getEmbeddedLocalYaw()    { return this.embeddedLocalYaw; }
     public float getEmbeddedLocalPitch()  { return this.embeddedLocalPitch; }
-    public void setEmbedYaw(float v)      { this.dataTracker.set(EMBED_YAW, v); }
-    public void setEmbedPitch(float v)    { this.dataTracker.set(EMBED_PITCH, v); }
 
     // Rotate a vector around the Y-axis by degrees
     private static Vec3d rotateY(Vec3d v, float degrees) {
@@ -487,6 +761,27 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
         return new Vec3d(x, v.y, z);
     }
 
+    // Removes this projectile for going over a quota. Hands the stack back to the owner
+    // if they're alive in this world, otherwise drops it where it is.
+    public void evict(boolean returnToOwner) {
+        if (returnToOwner && !alreadyDropped && !getWorld().isClient()
+                && getOwner() instanceof ServerPlayerEntity player
+                && player.isAlive() && player.getWorld() == getWorld()) {
+            if (isEmbedded()) {
+                clearEmbedding();
+            }
+            clearSpawnImmunity();
+            alreadyDropped = true;
+
+            ItemStack stack = createDropStack();
+            stack.setCount(stackSize);
+            player.getInventory().offerOrDrop(stack);
+            discard();
+            return;
+        }
+        dropAndDiscard();
+    }
+
     // Drops the item (if not already dropped) and discards this projectile
     public void dropAndDiscard() {
         // Ensure bleed is unregistered if we were embedded
@@ -502,11 +797,10 @@ public class ThrownProjectileEntity extends net.minecraft.entity.projectile.thro
             return;
         }
         alreadyDropped = true;
-        if (!getWorld().isClient()) {
+        if (getWorld() instanceof ServerWorld sw) {
             ItemStack dropStack = createDropStack();
             dropStack.setCount(stackSize);
-            getWorld().spawnEntity(new net.minecraft.entity.ItemEntity(
-                    getWorld(), getX(), getY(), getZ(), dropStack));
+            DropCoalescer.drop(sw, dropStack, getX(), getY(), getZ()); // Spawned, merged, at the end of the tick
         }
         discard();
     }
@@ -12,6 +12,9 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import win.demistorm.effects.BoomerangEffect;
+import win.demistorm.effects.EmbeddingEffect;
+import win.demistorm.network.EffectBus;
 import win.demistorm.network.NetworkHelper;
 
 // Common side initialization
@@ -43,7 +46,7 @@ public class VRThrowingExtensions implements ModInitializer {
 				EntityType.Builder.<ThrownProjectileEntity>create(ThrownProjectileEntity::new, SpawnGroup.MISC)
 						.dimensions(0.25f, 0.25f)
 						.maxTrackingRange(64)
-						.trackingTickInterval(5) // Update every 5 ticks = 4 times per second
+						.trackingTickInterval(10) // Base sync for extrapolated flight, ProjectileManager forces more when needed
 						.build(entityTypeKey));
 
 		// Loads/creates config
@@ -51,5 +54,35 @@ public class VRThrowingExtensions implements ModInitializer {
 
 		// Initializes server networking
 		NetworkHelper.initServer();
+
+		// Batched per-world projectile stepping
+		ProjectileManager.init();
+
+		// Parks projectiles leaving ticking chunks, resumes them when they tick again
+		DormantProjectileStore.init();
+
+		// Bleed timing wheel, after the projectile manager so embeds have moved first
+		EmbeddingEffect.BleedManager.init();
+
+		// End of tick effect bundles, after everything that posts effects
+		EffectBus.init();
+
+		// End of tick drop merging, after everything that drops projectiles
+		DropCoalescer.init();
+
+		// Damage profile cache invalidation on reload
+		DamageProfileCache.init();
+
+		// Per-tick entity broadphase for projectile collisions
+		CollisionIndex.init();
+
+		// Hitbox history for lag compensated throws
+		EntityHistory.init();
+
+		// Boomerang item tag
+		BoomerangEffect.init();
+
+		// Throw blacklist compilation
+		ModCompat.init();
 	}
 }
\ No newline at end of file
@@ -1,17 +1,19 @@
 package win.demistorm.effects;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
 import net.minecraft.item.Item;
-import net.minecraft.registry.Registries;
-import net.minecraft.sound.SoundCategory;
-import net.minecraft.sound.SoundEvents;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
+import win.demistorm.ItemBits;
 import win.demistorm.ThrownProjectileEntity;
 import win.demistorm.VRThrowingExtensions;
+import win.demistorm.network.EffectBus;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.BitSet;
 
 public final class BoomerangEffect {
     // Base return speed
@@ -44,15 +46,24 @@ public final class BoomerangEffect {
     public static final double maxOverTarget = 1.6;
     public static final double minUnderTarget = 0.45;
 
-    // This will be used in 1.2 where weapons/tools will be explicitly listed
-    public static final Set<Item> bounceTools = new HashSet<>();
-    static {
-        Registries.ITEM.stream().filter(i -> !Registries.ITEM.getId(i)
-                        .equals(Identifier.of("minecraft","air")))
-                .forEach(bounceTools::add);
+    // Items that can boomerang, configurable per modpack through the item tag
+    public static final TagKey<Item> BOOMERANG_TAG =
+            TagKey.of(RegistryKeys.ITEM, Identifier.of(VRThrowingExtensions.MOD_ID, "boomerang"));
+
+    // Compiled from the tag on every tag load, indexed by raw item id
+    private static BitSet bounceItems = new BitSet();
+
+    public static void init() {
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> rebuildBounceItems());
+    }
+
+    private static void rebuildBounceItems() {
+        bounceItems = ItemBits.ofTag(BOOMERANG_TAG);
+        VRThrowingExtensions.log.debug("[Boomerang] {} items can bounce", bounceItems.cardinality());
     }
+
     public static boolean canBounce(Item i) {
-        return bounceTools.contains(i);
+        return ItemBits.contains(bounceItems, i);
     }
 
     // Starts the boomerang-style return path
@@ -115,10 +126,8 @@ public final class BoomerangEffect {
         proj.setVelocity(finalVel);
         proj.setNoGravity(true);
 
-        if (!proj.getWorld().isClient()) {
-            proj.getWorld().playSound(null, proj.getBlockPos(),
-                    SoundEvents.ENTITY_GENERIC_BIG_FALL, SoundCategory.PLAYERS,
-                    0.6f, 1.5f);
+        if (proj.getWorld() instanceof ServerWorld sw) {
+            EffectBus.sound(sw, Vec3d.ofCenter(proj.getBlockPos()), EffectBus.Sound.BOOMERANG);
         }
 
         // DEBUG
@@ -132,46 +141,35 @@ public final class BoomerangEffect {
         );
     }
 
-    // Returns true when return is finished
-    public static boolean tickReturn(ThrownProjectileEntity proj) {
-        Vec3d currentPos = proj.getPos();
-        Vec3d toOrigin = proj.originalThrowPos.subtract(currentPos);
-        double distSq = toOrigin.lengthSquared();
+    // Returns true when return is finished.
+    // Primitive kernel over stride-3 arrays (slot i): reads pos/origin, updates vel and arc in place.
+    // Same trajectory as the old Vec3d version, but no allocation and no acos/sin per step.
+    public static boolean tickReturn(double[] pos, double[] vel, double[] arc, double[] origin, int i) {
+        int o = i * 3;
+        double px = pos[o], py = pos[o + 1], pz = pos[o + 2];
+        double vx = vel[o], vy = vel[o + 1], vz = vel[o + 2];
 
         // Finish if we reached or overshot the origin
-        boolean reachedOrigin = false;
+        double ox = origin[o] - px, oy = origin[o + 1] - py, oz = origin[o + 2] - pz;
+        double distSq = ox * ox + oy * oy + oz * oz;
         if (distSq < 0.36) {
-            reachedOrigin = true;
-            VRThrowingExtensions.log.debug("[Boomerang] Projectile {} reached origin (dist={})",
-                    proj.getId(), String.format("%.3f", Math.sqrt(distSq)));
-        } else {
-            Vec3d currentVel = proj.getVelocity();
-            if (currentVel.length() > 0.01) {
-                double dot = currentVel.normalize().dotProduct(toOrigin.normalize());
-                if (dot < -0.8 && distSq < 4.0) {
-                    reachedOrigin = true;
-                    VRThrowingExtensions.log.debug("[Boomerang] Projectile {} overshot origin (dist={}, dot={})",
-                            proj.getId(), String.format("%.3f", Math.sqrt(distSq)),
-                            String.format("%.3f", dot));
-                }
-            }
-        }
-        if (reachedOrigin) {
             return true;
         }
+        double speedSq = vx * vx + vy * vy + vz * vz;
+        if (speedSq > 1.0e-4 && distSq < 4.0) {
+            double dot = (vx * ox + vy * oy + vz * oz) / Math.sqrt(speedSq * distSq);
+            if (dot < -0.8) {
+                return true;
+            }
+        }
 
         // Decaying arc target (steer toward origin + offset)
-        Vec3d target = proj.originalThrowPos.add(proj.bounceCurveOffset);
-
-        // Calc steering toward the decaying target
-        Vec3d toTarget = target.subtract(currentPos);
-        double distance = toTarget.length();
+        double tx = ox + arc[o], ty = oy + arc[o + 1], tz = oz + arc[o + 2];
+        double distance = Math.sqrt(tx * tx + ty * ty + tz * tz);
         if (distance < 0.0001) {
             return false;
         }
-        Vec3d wantDir = toTarget.normalize();
-
-        Vec3d currentVel = proj.getVelocity();
+        double wx = tx / distance, wy = ty / distance, wz = tz / distance;
 
         // Distance-based speed target
         double speedMultiplier = calculateSpeedMultiplier(Math.sqrt(distSq));
@@ -183,39 +181,66 @@ public final class BoomerangEffect {
                 maxTurnRateNear,
                 maxTurnRateFar
         );
-        Vec3d turned = turnTowards(currentVel, wantDir, turnRate);
+
+        double speed = Math.sqrt(speedSq);
+        double nx, ny, nz; // Turned direction
+        if (speed < 1.0e-5) {
+            nx = wx; ny = wy; nz = wz;
+        } else {
+            double cx = vx / speed, cy = vy / speed, cz = vz / speed;
+            double dot = MathHelper.clamp(cx * wx + cy * wy + cz * wz, -1.0, 1.0);
+            double cosMax = Math.cos(turnRate);
+
+            if (dot >= cosMax) {
+                // Within the turn cap, snap onto the wanted direction
+                nx = wx; ny = wy; nz = wz;
+            } else {
+                // Component of wantDir perpendicular to curDir, equals (axis x curDir) * |axis|
+                double qx = wx - cx * dot, qy = wy - cy * dot, qz = wz - cz * dot;
+                double qLenSq = qx * qx + qy * qy + qz * qz;
+                if (qLenSq < 1.0e-9) {
+                    // Anti-parallel, nudge slightly toward wantDir
+                    nx = cx * (1.0 - 1e-3) + wx * 1e-3;
+                    ny = cy * (1.0 - 1e-3) + wy * 1e-3;
+                    nz = cz * (1.0 - 1e-3) + wz * 1e-3;
+                } else {
+                    // Rotate curDir toward wantDir by exactly the cap inside their shared plane
+                    double sinMax = Math.sqrt(1.0 - cosMax * cosMax);
+                    double qInv = sinMax / Math.sqrt(qLenSq);
+                    nx = cx * cosMax + qx * qInv;
+                    ny = cy * cosMax + qy * qInv;
+                    nz = cz * cosMax + qz * qInv;
+                }
+                double nLen = Math.sqrt(nx * nx + ny * ny + nz * nz);
+                nx /= nLen; ny /= nLen; nz /= nLen;
+            }
+        }
 
         // Clamp and damp speeds
-        Vec3d newVel = turned.multiply(dampFactor);
-        double newSpeed = newVel.length();
+        double newSpeed = speed * dampFactor;
         double maxSpeed = targetSpeed * maxOverTarget;
         double minSpeed = targetSpeed * minUnderTarget;
-
         if (newSpeed > maxSpeed) {
-            newVel = newVel.normalize().multiply(maxSpeed);
+            newSpeed = maxSpeed;
         } else if (newSpeed < minSpeed && newSpeed > 0.0001) {
-            newVel = newVel.normalize().multiply(minSpeed);
+            newSpeed = minSpeed;
         }
 
-        proj.setVelocity(newVel);
+        vel[o] = nx * newSpeed;
+        vel[o + 1] = ny * newSpeed;
+        vel[o + 2] = nz * newSpeed;
 
         // Collapse faster when near (so it swings back into the player's hand sorta)
         double nearFactor = MathHelper.clamp(1.0 - (distance / farDistance), 0.0, 0.8);
         double decay = MathHelper.lerp(nearFactor, arcDecayPerStep, arcDecayPerStep * 0.75);
-        proj.bounceCurveOffset = proj.bounceCurveOffset.multiply(decay);
-
-        if (proj.age % 20 == 0) {
-            VRThrowingExtensions.log.debug("[Boomerang] Return: dist={}, speed={}, target={}, arcLen={}",
-                    String.format("%.2f", Math.sqrt(distSq)),
-                    String.format("%.3f", newVel.length()),
-                    String.format("%.3f", targetSpeed),
-                    String.format("%.2f", proj.bounceCurveOffset.length()));
-        }
+        arc[o] *= decay;
+        arc[o + 1] *= decay;
+        arc[o + 2] *= decay;
         return false;
     }
 
-    // Speed multiplier curve
-    private static double calculateSpeedMultiplier(double distance) {
+    // Speed multiplier curve (package-private for the JMH benchmarks)
+    static double calculateSpeedMultiplier(double distance) {
         if (distance <= closeDistance) return closeSpeedMultiplier;
         if (distance >= farDistance)   return farSpeedMultiplier;
 
@@ -244,29 +269,5 @@ public final class BoomerangEffect {
         return v.subtract(normal.multiply(d)).normalize();
     }
 
-    // Turn the velocity vector toward a direction by at most maxAngle (keeping magnitude)
-    private static Vec3d turnTowards(Vec3d currentVel, Vec3d wantDir, double maxAngle) {
-        double speed = currentVel.length();
-        if (speed < 1e-6) {
-            return wantDir.multiply(speed);
-        }
-        Vec3d curDir = currentVel.normalize();
-        double dot = MathHelper.clamp(curDir.dotProduct(wantDir), -1.0, 1.0);
-        double angle = Math.acos(dot);
-
-        if (angle <= maxAngle) {
-            return wantDir.multiply(speed);
-        }
-        // Rotate curDir toward wantDir by maxAngle around the rotation axis
-        Vec3d axis = curDir.crossProduct(wantDir);
-        if (axis.lengthSquared() < 1e-9) {
-            // Parallel or anti-parallel, just lerp directions
-            Vec3d turnDir = curDir.multiply(1.0 - 1e-3).add(wantDir.multiply(1e-3)).normalize();
-            return turnDir.multiply(speed);
-        }
-        Vec3d rotated = rotateAroundAxis(curDir, axis, maxAngle);
-        return rotated.normalize().multiply(speed);
-    }
-
     private BoomerangEffect() { }
 }
\ No newline at end of file
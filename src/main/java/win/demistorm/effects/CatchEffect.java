@@ -0,0 +1,40 @@
+package win.demistorm.effects;
+
+import net.minecraft.util.math.Vec3d;
+
+// Magnet pull toward the catching hand. The server steps it for the real projectile and the
+// catching client runs the same math on its own copy, so only the hand anchor has to be synced.
+public final class CatchEffect {
+
+    // Magnetizing effect strength
+    public static final double catchMagnetStrength = 0.10;
+    // How much of the current velocity survives each pull
+    private static final double velocityKeep = 0.6;
+    // Don't pull when basically at the hand
+    private static final double minPullDistance = 0.001;
+
+    // Pulls slot i's velocity toward target in place (stride-3 arrays, same layout as ProjectileManager)
+    public static void pull(double[] pos, double[] vel, double[] target, int i) {
+        int o = i * 3;
+        double dx = target[o] - pos[o];
+        double dy = target[o + 1] - pos[o + 1];
+        double dz = target[o + 2] - pos[o + 2];
+        double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (dist <= minPullDistance) return;
+
+        double k = catchMagnetStrength / dist;
+        vel[o] = vel[o] * velocityKeep + dx * k;
+        vel[o + 1] = vel[o + 1] * velocityKeep + dy * k;
+        vel[o + 2] = vel[o + 2] * velocityKeep + dz * k;
+    }
+
+    // Client prediction version, same math
+    public static Vec3d pull(Vec3d pos, Vec3d vel, Vec3d target) {
+        Vec3d toHand = target.subtract(pos);
+        double dist = toHand.length();
+        if (dist <= minPullDistance) return vel;
+        return vel.multiply(velocityKeep).add(toHand.multiply(catchMagnetStrength / dist));
+    }
+
+    private CatchEffect() {}
+}
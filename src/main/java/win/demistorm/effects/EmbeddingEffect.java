@@ -1,14 +1,16 @@
 package win.demistorm.effects;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.sound.SoundCategory;
-import net.minecraft.sound.SoundEvents;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.hit.EntityHitResult;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.Box;
-import win.demistorm.network.NetworkHelper;
+import win.demistorm.network.EffectBus;
 import win.demistorm.ThrownProjectileEntity;
 
 import static win.demistorm.VRThrowingExtensions.log;
@@ -69,8 +71,9 @@ public final class EmbeddingEffect {
         BleedManager.register(living, proj.getWorld().getTime(), proj);
 
         // Sound effect
-        proj.getWorld().playSound(null, proj.getBlockPos(),
-                SoundEvents.BLOCK_CHAIN_BREAK, SoundCategory.PLAYERS, 0.45f, 0.8f);
+        if (proj.getWorld() instanceof ServerWorld sw) {
+            EffectBus.sound(sw, Vec3d.ofCenter(proj.getBlockPos()), EffectBus.Sound.EMBED);
+        }
 
         // DEBUG
         double finalEmbedDepth = hitPos.distanceTo(embedPos);
@@ -107,6 +110,13 @@ public final class EmbeddingEffect {
             return;
         }
 
+        // Embed loaded from disk, wait for the host to load as well
+        if (proj.isWaitingForHost()) {
+            LivingEntity host = proj.tryResolveHost();
+            if (host == null && proj.isWaitingForHost()) return;
+            if (host != null) BleedManager.register(host, proj.getWorld().getTime(), proj);
+        }
+
         Entity target = proj.getEmbeddedTarget();
         if (!(target instanceof LivingEntity living) || !living.isAlive() || target.isRemoved()) {
             // If the entity died or disappeared, drop the item
@@ -116,26 +126,15 @@ public final class EmbeddingEffect {
             return;
         }
 
-        // Use body yaw so in-place rotation is reflected even when not technically moving
-        float hostBodyYaw = living.getBodyYaw();
-        float hostPitch = living.getPitch();
-
         // Maintain position at the locked local offset relative to the host (rotate by host BODY yaw)
-        Vec3d base = target.getPos();
-        Vec3d offsetWorld = rotateY(proj.getEmbeddedOffset(), hostBodyYaw);
-        Vec3d newPos = base.add(offsetWorld);
-        proj.setPosition(newPos);
+        // Clients do the same from the synced host id/offset, and work out yaw/pitch from the host themselves.
+        // The tracker doesn't see this move (getSyncedPos stays at the embed point), so nothing is sent for it
+        proj.setPosition(ThrownProjectileEntity.embedFollowPos(living, proj.getEmbeddedOffset()));
 
         // Freeze physics
         proj.setVelocity(Vec3d.ZERO);
         proj.setNoGravity(true);
 
-        // Visual yaw/pitch follow the host body/head while preserving local embed orientation
-        float worldYaw = MathHelper.wrapDegrees(hostBodyYaw + proj.getEmbeddedLocalYaw());
-        float worldPitch = MathHelper.wrapDegrees(hostPitch + proj.getEmbeddedLocalPitch());
-        proj.setEmbedYaw(worldYaw);
-        proj.setEmbedPitch(worldPitch);
-
         // Approach the nearest 85 degrees (mod 360) and stop there
         float current = proj.getEmbedRoll();
         float baseAngle = targetRollDegX;
@@ -148,15 +147,12 @@ public final class EmbeddingEffect {
             proj.setEmbedRoll(next);
         }
 
-        // NEW: Apply synced bleed if it's this world's bleed tick for the host
-        BleedManager.tryApplyBleed(living, proj.getWorld().getTime());
-
         // DEBUG
         if (proj.age % 20 == 0) {
             log.debug("[Embed] Following host. proj={} bodyYaw={} worldYaw={} pos={}",
                     proj.getId(),
-                    String.format("%.1f", hostBodyYaw),
-                    String.format("%.1f", worldYaw),
+                    String.format("%.1f", living.getBodyYaw()),
+                    String.format("%.1f", proj.getEmbedYaw()),
                     proj.getPos());
         }
     }
@@ -170,26 +166,42 @@ public final class EmbeddingEffect {
         log.debug("[Embed] Released projectile {} from embed state for catching", proj.getId());
     }
 
-    // Rotate a vector around the Y-axis by degrees
-    private static Vec3d rotateY(Vec3d v, float degrees) {
-        double rad = Math.toRadians(degrees);
-        double cos = Math.cos(rad);
-        double sin = Math.sin(rad);
-        double x = v.x * cos - v.z * sin;
-        double z = v.x * sin + v.z * cos;
-        return new Vec3d(x, v.y, z);
-    }
-
-    // Per-entity bleed manager with synchronized 30-tick cycles
+    // Per-entity bleed manager with synchronized 30-tick cycles.
+    // Each bleeding host sits in a per-world hashed timing wheel, so a world tick only touches hosts due that tick.
     public static final class BleedManager {
-        // Weakly key by entity to avoid leaks across deaths/unloads
-        private static final java.util.Map<LivingEntity, BleedState> STATES = new java.util.WeakHashMap<>();
+        // Wheel size, power of two and larger than the bleed interval so a host never waits a full lap
+        private static final int wheelSlots = 32;
+        private static final int wheelMask = wheelSlots - 1;
+
+        private static final java.util.Map<ServerWorld, Wheel> WHEELS = new java.util.IdentityHashMap<>();
+
+        public static void init() {
+            // Runs after ProjectileManager so embeds are already following their hosts this tick
+            ServerTickEvents.END_WORLD_TICK.register(world -> {
+                Wheel wheel = WHEELS.get(world);
+                if (wheel != null) wheel.advance(world);
+            });
+
+            // Host unloaded (chunk unload, death, despawn): cancel its bleed
+            ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+                if (!(entity instanceof LivingEntity living)) return;
+                Wheel wheel = WHEELS.get(world);
+                if (wheel != null) wheel.cancel(living);
+            });
+
+            ServerWorldEvents.UNLOAD.register((server, world) -> WHEELS.remove(world));
+        }
 
         static void register(LivingEntity host, long worldTime, ThrownProjectileEntity proj) {
-            BleedState st = STATES.get(host);
+            if (!(host.getWorld() instanceof ServerWorld sw)) return;
+            Wheel wheel = WHEELS.computeIfAbsent(sw, w -> new Wheel(worldTime));
+
+            BleedState st = wheel.states.get(host);
             if (st == null) {
-                st = new BleedState(worldTime);
-                STATES.put(host, st);
+                // First embed anchors the cycle, first bleed exactly one interval later
+                st = new BleedState(host);
+                wheel.states.put(host, st);
+                wheel.schedule(st, worldTime + bleedIntervalTicks);
                 log.debug("[Bleed] Anchor set for {} at worldTick={}", host.getName().getString(), worldTime);
             }
             st.projs.add(proj);
@@ -197,79 +209,117 @@ public final class EmbeddingEffect {
         }
 
         public static void unregister(LivingEntity host, ThrownProjectileEntity proj) {
-            BleedState st = STATES.get(host);
+            if (!(host.getWorld() instanceof ServerWorld sw)) return;
+            Wheel wheel = WHEELS.get(sw);
+            if (wheel == null) return;
+            BleedState st = wheel.states.get(host);
             if (st == null) return;
             st.projs.remove(proj);
             if (st.projs.isEmpty()) {
-                STATES.remove(host);
+                // Last embed gone, the next embed re-anchors a fresh cycle
+                wheel.cancel(host);
                 log.debug("[Bleed] Cleared bleed state for {} (no more embeds)", host.getName().getString());
             } else {
                 log.debug("[Bleed] Removed embed for {}. Remaining count={}", host.getName().getString(), st.projs.size());
             }
         }
 
-        static void tryApplyBleed(LivingEntity host, long worldTime) {
-            BleedState st = STATES.get(host);
-            if (st == null) return;
+        // Applies one bleed to a due host, returns false if it should stop bleeding
+        private static boolean applyBleed(ServerWorld sw, BleedState st, long worldTime) {
+            LivingEntity host = st.host;
 
             // Cleanup if host is dead
-            if (!host.isAlive()) {
-                STATES.remove(host);
+            if (!host.isAlive() || host.isRemoved()) {
                 log.debug("[Bleed] Host {} died. Removing bleed state.", host.getName().getString());
-                return;
+                return false;
             }
 
-            long delta = worldTime - st.anchorTick;
-            if (delta < bleedIntervalTicks) return;                // First bleed exactly at anchor + interval
-            if (delta % bleedIntervalTicks != 0) return;           // Must align to the 30 tick cycle
-
-            // Ensure only one application in this world tick
-            if (st.lastAppliedTick == worldTime) return;
-            st.lastAppliedTick = worldTime;
-
-            // Compute number of active embedded projectiles
-            int activeCount = 0;
-            for (ThrownProjectileEntity p : st.projs) {
-                if (p != null && !p.isRemoved() && p.isEmbedded()) {
-                    activeCount++;
-                }
-            }
-            if (activeCount <= 0) {
-                STATES.remove(host);
-                return;
-            }
+            // Compute number of active embedded projectiles, forget any that are gone
+            st.projs.removeIf(p -> p == null || p.isRemoved() || !p.isEmbedded());
+            int activeCount = st.projs.size();
+            if (activeCount <= 0) return false;
 
             float total = bleedDamage * activeCount;
 
             // Apply generic damage (respects armor/enchantments)
-            net.minecraft.server.world.ServerWorld sw = (net.minecraft.server.world.ServerWorld) host.getWorld();
             host.damage(sw, sw.getDamageSources().generic(), total);
 
             // Send trickle particles for every currently embedded projectile
             for (ThrownProjectileEntity p : st.projs) {
-                if (p == null || p.isRemoved() || !p.isEmbedded()) continue;
-                net.minecraft.util.math.Vec3d pos = p.getPos();
+                if (p.isRemoved() || !p.isEmbedded()) continue;
+                EffectBus.bleed(sw, p.getPos());
+            }
+
+            // DEBUG
+            log.debug("[Bleed] Applied {} bleed to {} at tick {} (embeds={})",
+                    total, host.getName().getString(), worldTime, activeCount);
+            return true;
+        }
 
-                for (net.minecraft.server.network.ServerPlayerEntity player : sw.getServer().getPlayerManager().getPlayerList()) {
-                    if (player.getWorld() == sw && player.squaredDistanceTo(pos) < 4096) { // 64 blocks
-                        net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking.send(
-                                player, new NetworkHelper.BleedParticlePacket(pos));
+        // Hashed timing wheel, each slot is an intrusive singly linked list of states.
+        // Cancelled states are unlinked lazily when their slot comes around.
+        private static final class Wheel {
+            final BleedState[] slots = new BleedState[wheelSlots];
+            final java.util.Map<LivingEntity, BleedState> states = new java.util.IdentityHashMap<>();
+            long lastTick;
+
+            Wheel(long now) {
+                this.lastTick = now;
+            }
+
+            void schedule(BleedState st, long dueTick) {
+                st.dueTick = dueTick;
+                int slot = (int) (dueTick & wheelMask);
+                st.next = slots[slot];
+                slots[slot] = st;
+            }
+
+            void cancel(LivingEntity host) {
+                BleedState st = states.remove(host);
+                if (st != null) st.cancelled = true;
+            }
+
+            // Fires every slot between the last processed tick and now (normally exactly one)
+            void advance(ServerWorld world) {
+                long now = world.getTime();
+                if (now <= lastTick) return;
+                long from = Math.max(lastTick + 1, now - wheelMask);
+                lastTick = now;
+
+                for (long tick = from; tick <= now; tick++) {
+                    int slot = (int) (tick & wheelMask);
+                    BleedState st = slots[slot];
+                    if (st == null) continue;
+                    slots[slot] = null; // Detach, rescheduled states go into other slots
+
+                    while (st != null) {
+                        BleedState next = st.next;
+                        st.next = null;
+                        if (!st.cancelled) {
+                            if (st.dueTick > tick) {
+                                // Not due on this lap (only after long tick gaps)
+                                schedule(st, st.dueTick);
+                            } else if (applyBleed(world, st, tick)) {
+                                schedule(st, tick + bleedIntervalTicks);
+                            } else {
+                                cancel(st.host);
+                            }
+                        }
+                        st = next;
                     }
                 }
             }
-
-            // DEBUG
-            log.debug("[Bleed] Applied {} bleed to {} at tick {} (embeds={}, anchor={})",
-                    total, host.getName().getString(), worldTime, activeCount, st.anchorTick);
         }
 
         private static final class BleedState {
-            final long anchorTick;
-            long lastAppliedTick = Long.MIN_VALUE;
+            final LivingEntity host;
             final java.util.Set<ThrownProjectileEntity> projs = java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
+            long dueTick;
+            boolean cancelled;
+            BleedState next; // Wheel slot link
 
-            BleedState(long anchorTick) {
-                this.anchorTick = anchorTick;
+            BleedState(LivingEntity host) {
+                this.host = host;
             }
         }
     }
@@ -0,0 +1,33 @@
+package win.demistorm.mixin;
+
+import net.minecraft.network.listener.ServerCommonPacketListener;
+import net.minecraft.network.packet.c2s.common.CustomPayloadC2SPacket;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import win.demistorm.network.NetworkHelper;
+import win.demistorm.network.PacketThrottle;
+import win.demistorm.network.ThrowClock;
+
+// Runs PacketThrottle on the Netty thread, before the payload handler hands the packet to the server thread.
+// Over budget throw and catch packets stop here and never take a slot in the server task queue. Admitted
+// throws get their arrival tick here too, so ThrowClock can count the time they spend in the queue.
+@Mixin(CustomPayloadC2SPacket.class)
+public abstract class CustomPayloadC2SPacketMixin {
+
+    @Inject(method = "apply(Lnet/minecraft/network/listener/ServerCommonPacketListener;)V", at = @At("HEAD"),
+            cancellable = true)
+    private void vrThrowing$throttle(ServerCommonPacketListener listener, CallbackInfo ci) {
+        if (!(listener instanceof ServerPlayNetworkHandler handler)) return;
+        CustomPayloadC2SPacket packet = (CustomPayloadC2SPacket) (Object) this;
+        if (!PacketThrottle.admit(handler, packet)) {
+            ci.cancel();
+            return;
+        }
+        if (packet.payload() instanceof NetworkHelper.ThrowPacket throwPacket) {
+            ThrowClock.stampArrival(handler.player, throwPacket);
+        }
+    }
+}
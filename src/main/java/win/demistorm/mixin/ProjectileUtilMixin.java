@@ -0,0 +1,45 @@
+package win.demistorm.mixin;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.projectile.ProjectileUtil;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.hit.EntityHitResult;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import win.demistorm.CollisionIndex;
+import win.demistorm.EntityHistory;
+import win.demistorm.ThrownProjectileEntity;
+
+import java.util.function.Predicate;
+
+// Routes thrown projectile entity collision through the per-world CollisionIndex, or through
+// EntityHistory while a fresh throw is lag compensated.
+// Optional (require = 0): if the signature ever moves, vanilla's scan just keeps running.
+@Mixin(ProjectileUtil.class)
+public abstract class ProjectileUtilMixin {
+
+    @Inject(
+            method = "getEntityCollision(Lnet/minecraft/world/World;Lnet/minecraft/entity/Entity;Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/util/math/Box;Ljava/util/function/Predicate;F)Lnet/minecraft/util/hit/EntityHitResult;",
+            at = @At("HEAD"),
+            cancellable = true,
+            require = 0
+    )
+    private static void vrThrowing$indexedCollision(World world, Entity entity, Vec3d min, Vec3d max, Box box,
+                                                    Predicate<Entity> predicate, float margin,
+                                                    CallbackInfoReturnable<EntityHitResult> cir) {
+        if (!(entity instanceof ThrownProjectileEntity proj) || !(world instanceof ServerWorld sw)) return;
+        // Fresh throws see targets where their thrower saw them
+        int rewind = proj.compensatedRewind();
+        if (EntityHistory.covers(sw, rewind)) {
+            cir.setReturnValue(EntityHistory.raycast(sw, entity, min, max, predicate, margin, rewind));
+            return;
+        }
+        if (!CollisionIndex.shouldUse(sw)) return;
+        cir.setReturnValue(CollisionIndex.raycast(sw, entity, min, max, box, predicate, margin));
+    }
+}
@@ -0,0 +1,186 @@
+package win.demistorm.network;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import win.demistorm.network.NetworkHelper.EffectBundlePacket;
+import win.demistorm.network.NetworkHelper.EffectBundlePacket.Effect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Collects blood, bleed and sound effects during a world tick and sends them at the end of it
+// as one EffectBundlePacket per player, so packet count follows players instead of effects.
+// Only players tracking the effect's chunk get it, with a per-viewer detail level for particles.
+public final class EffectBus {
+
+    public static final byte KIND_BLOOD = 0;
+    public static final byte KIND_BLEED = 1;
+    public static final byte KIND_SOUND = 2;
+
+    // Sounds the mod plays, sent as an index instead of a registry entry
+    public enum Sound {
+        THROW(SoundEvents.ENTITY_WITCH_THROW, 0.6f, 1.05f),
+        WEAPON_THROW(SoundEvents.ITEM_TRIDENT_THROW.value(), 0.6f, 1.33f),
+        CATCH(SoundEvents.ENTITY_ITEM_PICKUP, 0.5f, 2.0f),
+        EMBED(SoundEvents.BLOCK_CHAIN_BREAK, 0.45f, 0.8f),
+        BOOMERANG(SoundEvents.ENTITY_GENERIC_BIG_FALL, 0.6f, 1.5f);
+
+        public final SoundEvent event;
+        public final float volume;
+        public final float pitch;
+
+        Sound(SoundEvent event, float volume, float pitch) {
+            this.event = event;
+            this.volume = volume;
+            this.pitch = pitch;
+        }
+
+        private static final Sound[] VALUES = values();
+
+        public static Sound byIndex(int i) {
+            return i >= 0 && i < VALUES.length ? VALUES[i] : null;
+        }
+    }
+
+    // Hard cap for particles, same as the old full player list scan
+    private static final double maxDistanceSq = 64.0 * 64.0;
+    // Vanilla hearing range for sounds with volume <= 1
+    private static final double soundDistanceSq = 16.0 * 16.0;
+
+    // Distance bands for level of detail (percent of the full particle count)
+    private static final double fullDetailDistSq = 16.0 * 16.0;
+    private static final double halfDetailDistSq = 32.0 * 32.0;
+    private static final byte fullDetail = 100;
+    private static final byte halfDetail = 50;
+    private static final byte lowDetail = 20;
+
+    // Effects of the same kind in the same half block cell are merged into one with a count
+    private static final double cellsPerBlock = 2.0;
+
+    private static final Map<ServerWorld, Pending> PENDING = new IdentityHashMap<>();
+
+    public static void init() {
+        // Registered after the projectile manager and bleed wheel so their effects go out the same tick
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            Pending pending = PENDING.get(world);
+            if (pending != null && !pending.effects.isEmpty()) pending.flush(world);
+        });
+        ServerWorldEvents.UNLOAD.register((server, world) -> PENDING.remove(world));
+    }
+
+    public static void blood(ServerWorld world, Vec3d pos, Vec3d velocity) {
+        post(world, KIND_BLOOD, 0, pos, velocity);
+    }
+
+    public static void bleed(ServerWorld world, Vec3d pos) {
+        post(world, KIND_BLEED, 0, pos, Vec3d.ZERO);
+    }
+
+    public static void sound(ServerWorld world, Vec3d pos, Sound sound) {
+        post(world, KIND_SOUND, sound.ordinal(), pos, Vec3d.ZERO);
+    }
+
+    private static void post(ServerWorld world, byte kind, int sound, Vec3d pos, Vec3d velocity) {
+        PENDING.computeIfAbsent(world, w -> new Pending()).add(kind, sound, pos, velocity);
+    }
+
+    static byte detailFor(double distSq) {
+        if (distSq < fullDetailDistSq) return fullDetail;
+        if (distSq < halfDetailDistSq) return halfDetail;
+        return lowDetail;
+    }
+
+    // One world's effects for the current tick
+    private static final class Pending {
+        final List<Effect> effects = new ArrayList<>();
+        final Long2IntOpenHashMap cellIndex = new Long2IntOpenHashMap();
+
+        Pending() {
+            cellIndex.defaultReturnValue(-1);
+        }
+
+        void add(byte kind, int sound, Vec3d pos, Vec3d velocity) {
+            long key = cellKey(kind, sound, pos);
+            int existing = cellIndex.get(key);
+            if (existing >= 0) {
+                // Co-located duplicate, bump the count (sounds just play once)
+                Effect e = effects.get(existing);
+                if (kind != KIND_SOUND && e.count() < 255) {
+                    effects.set(existing, e.withCount(e.count() + 1));
+                }
+                return;
+            }
+            cellIndex.put(key, effects.size());
+            effects.add(new Effect(kind, sound, 1, pos.x, pos.y, pos.z, velocity.x, velocity.y, velocity.z));
+        }
+
+        void flush(ServerWorld world) {
+            Map<ServerPlayerEntity, Bundle> bundles = new IdentityHashMap<>();
+
+            for (Effect e : effects) {
+                BlockPos at = BlockPos.ofFloored(e.x(), e.y(), e.z());
+                double range = e.kind() == KIND_SOUND ? soundDistanceSq : maxDistanceSq;
+
+                for (ServerPlayerEntity player : PlayerLookup.tracking(world, at)) {
+                    double distSq = player.squaredDistanceTo(e.x(), e.y(), e.z());
+                    if (distSq >= range) continue;
+                    bundles.computeIfAbsent(player, p -> new Bundle()).add(e, detailFor(distSq));
+                }
+            }
+
+            for (Map.Entry<ServerPlayerEntity, Bundle> entry : bundles.entrySet()) {
+                Bundle b = entry.getValue();
+                ServerPlayNetworking.send(entry.getKey(), new EffectBundlePacket(b.effects, b.detailArray()));
+            }
+
+            // DEBUG
+            if (world.getTime() % 200 == 0) {
+                log.debug("[Effects] {} effects to {} players in {}", effects.size(), bundles.size(),
+                        world.getRegistryKey().getValue());
+            }
+
+            effects.clear();
+            cellIndex.clear();
+        }
+
+        private static long cellKey(byte kind, int sound, Vec3d pos) {
+            long cx = MathHelper.floor(pos.x * cellsPerBlock) & 0x1FFFFFL;  // 21 bits
+            long cz = MathHelper.floor(pos.z * cellsPerBlock) & 0x1FFFFFL;  // 21 bits
+            long cy = MathHelper.floor(pos.y * cellsPerBlock) & 0xFFFL;     // 12 bits
+            return (cx << 43) | (cz << 22) | (cy << 10) | ((long) kind << 8) | (sound & 0xFF);
+        }
+    }
+
+    // Effects going to one player, the Effect objects are shared between players
+    private static final class Bundle {
+        final List<Effect> effects = new ArrayList<>();
+        byte[] detail = new byte[8];
+
+        void add(Effect e, byte d) {
+            if (effects.size() == detail.length) detail = Arrays.copyOf(detail, detail.length * 2);
+            detail[effects.size()] = d;
+            effects.add(e);
+        }
+
+        byte[] detailArray() {
+            return Arrays.copyOf(detail, effects.size());
+        }
+    }
+
+    private EffectBus() {}
+}
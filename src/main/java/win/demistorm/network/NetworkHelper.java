@@ -8,20 +8,29 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.sound.SoundCategory;
-import net.minecraft.sound.SoundEvents;
 import net.minecraft.util.Hand;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
+import win.demistorm.EntityHistory;
 import win.demistorm.ModCompat;
 import win.demistorm.ThrownProjectileEntity;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static win.demistorm.VRThrowingExtensions.log;
 
 // Handles spawning and launching the thrown item
 public final class NetworkHelper {
 
+    // Furthest a throw (or catching hand) may be from the player's feet (arm reach plus head height, with slack)
+    private static final double maxThrowReach = 4.0;
+    // Extra room for a throw, the client's position runs up to a tick ahead of what we have (sprinting, elytra)
+    private static final double maxReleaseDrift = 2.0;
+
     public static final Identifier THROW_CHANNEL =
             Identifier.of("vr-throwing-extensions", "throw_packet");
     public static final Identifier CATCH_CHANNEL =
@@ -30,8 +39,13 @@ public final class NetworkHelper {
             Identifier.of("vr-throwing-extensions", "catch_update_packet");
     public static final Identifier CATCH_COMPLETE_CHANNEL =
             Identifier.of("vr-throwing-extensions", "catch_complete_packet");
+    public static final Identifier THROW_REJECT_CHANNEL =
+            Identifier.of("vr-throwing-extensions", "throw_reject_packet");
 
-    public record ThrowPacket(Vec3d pos, Vec3d vel, boolean wholeStack, float rollDeg)
+    // pos = release position in the world, as the client saw it (its own position is ahead of ours)
+    // seq counts up per throw, releaseTick + releaseFraction is when it was let go on the client's tick clock
+    public record ThrowPacket(Vec3d pos, Vec3d vel, boolean wholeStack, float rollDeg,
+                              int seq, int releaseTick, float releaseFraction)
             implements CustomPayload {
 
         public static final Id<ThrowPacket> ID = new Id<>(THROW_CHANNEL);
@@ -39,20 +53,26 @@ public final class NetworkHelper {
         public static final PacketCodec<RegistryByteBuf, ThrowPacket> CODEC =
                 PacketCodec.of(
                         (value, buf) -> {
-                            buf.writeDouble(value.pos.x);
-                            buf.writeDouble(value.pos.y);
-                            buf.writeDouble(value.pos.z);
-                            buf.writeDouble(value.vel.x);
-                            buf.writeDouble(value.vel.y);
-                            buf.writeDouble(value.vel.z);
+                            WireCodec.writeVersion(buf);
+                            WireCodec.writeAbsolute(buf, value.pos);
+                            WireCodec.writeVelocity(buf, value.vel);
                             buf.writeBoolean(value.wholeStack);
-                            buf.writeFloat(value.rollDeg);
+                            WireCodec.writeAngle(buf, value.rollDeg);
+                            buf.writeVarInt(value.seq);
+                            buf.writeInt(value.releaseTick);
+                            WireCodec.writeFraction(buf, value.releaseFraction);
                         },
-                        buf -> new ThrowPacket(               // read
-                                new Vec3d(buf.readDouble(), buf.readDouble(), buf.readDouble()),
-                                new Vec3d(buf.readDouble(), buf.readDouble(), buf.readDouble()),
-                                buf.readBoolean(),
-                                buf.readFloat())
+                        buf -> {                              // read
+                            WireCodec.readVersion(buf, "throw");
+                            return new ThrowPacket(
+                                    WireCodec.readAbsoluteVec(buf),
+                                    WireCodec.readVelocityVec(buf),
+                                    buf.readBoolean(),
+                                    WireCodec.readAngle(buf),
+                                    buf.readVarInt(),
+                                    buf.readInt(),
+                                    WireCodec.readFraction(buf));
+                        }
                 );
 
         @Override public Id<? extends CustomPayload> getId() { return ID; }
@@ -66,16 +86,21 @@ public final class NetworkHelper {
         public static final PacketCodec<RegistryByteBuf, CatchPacket> CODEC =
                 PacketCodec.of(
                         (value, buf) -> {
-                            buf.writeInt(value.entityId);
+                            WireCodec.writeVersion(buf);
+                            buf.writeVarInt(value.entityId);
                             buf.writeBoolean(value.startCatch);
                         },
-                        buf -> new CatchPacket(buf.readInt(), buf.readBoolean())
+                        buf -> {
+                            WireCodec.readVersion(buf, "catch");
+                            return new CatchPacket(buf.readVarInt(), buf.readBoolean());
+                        }
                 );
 
         @Override public Id<? extends CustomPayload> getId() { return ID; }
     }
 
-    public record CatchUpdatePacket(int entityId, Vec3d velocity, float rollDeg)
+    // handOffset = catching hand relative to the sender, only sent when the hand moves past a threshold
+    public record CatchUpdatePacket(int entityId, Vec3d handOffset, float rollDeg)
             implements CustomPayload {
 
         public static final Id<CatchUpdatePacket> ID = new Id<>(CATCH_UPDATE_CHANNEL);
@@ -83,16 +108,18 @@ public final class NetworkHelper {
         public static final PacketCodec<RegistryByteBuf, CatchUpdatePacket> CODEC =
                 PacketCodec.of(
                         (value, buf) -> {
-                            buf.writeInt(value.entityId);
-                            buf.writeDouble(value.velocity.x);
-                            buf.writeDouble(value.velocity.y);
-                            buf.writeDouble(value.velocity.z);
-                            buf.writeFloat(value.rollDeg);
+                            WireCodec.writeVersion(buf);
+                            buf.writeVarInt(value.entityId);
+                            WireCodec.writeRelative(buf, value.handOffset);
+                            WireCodec.writeAngle(buf, value.rollDeg);
                         },
-                        buf -> new CatchUpdatePacket(
-                                buf.readInt(),
-                                new Vec3d(buf.readDouble(), buf.readDouble(), buf.readDouble()),
-                                buf.readFloat())
+                        buf -> {
+                            WireCodec.readVersion(buf, "catch update");
+                            return new CatchUpdatePacket(
+                                    buf.readVarInt(),
+                                    WireCodec.readRelativeVec(buf),
+                                    WireCodec.readAngle(buf));
+                        }
                 );
 
         @Override public Id<? extends CustomPayload> getId() { return ID; }
@@ -105,49 +132,125 @@ public final class NetworkHelper {
 
         public static final PacketCodec<RegistryByteBuf, CatchCompletePacket> CODEC =
                 PacketCodec.of(
-                        (value, buf) -> buf.writeInt(value.entityId),
-                        buf -> new CatchCompletePacket(buf.readInt())
+                        (value, buf) -> {
+                            WireCodec.writeVersion(buf);
+                            buf.writeVarInt(value.entityId);
+                        },
+                        buf -> {
+                            WireCodec.readVersion(buf, "catch complete");
+                            return new CatchCompletePacket(buf.readVarInt());
+                        }
                 );
 
         @Override public Id<? extends CustomPayload> getId() { return ID; }
     }
 
-    public record BloodParticlePacket(Vec3d pos, Vec3d velocity) implements CustomPayload {
-        public static final Id<BloodParticlePacket> ID =
-                new Id<>(Identifier.of("vr-throwing-extensions", "blood_particle"));
+    // Server didn't spawn the throw with this seq, the client drops its predicted projectile and hand change
+    public record ThrowRejectPacket(int seq) implements CustomPayload {
+
+        public static final Id<ThrowRejectPacket> ID = new Id<>(THROW_REJECT_CHANNEL);
 
-        public static final PacketCodec<RegistryByteBuf, BloodParticlePacket> CODEC =
+        public static final PacketCodec<RegistryByteBuf, ThrowRejectPacket> CODEC =
                 PacketCodec.of(
                         (value, buf) -> {
-                            buf.writeDouble(value.pos.x);
-                            buf.writeDouble(value.pos.y);
-                            buf.writeDouble(value.pos.z);
-                            buf.writeDouble(value.velocity.x);
-                            buf.writeDouble(value.velocity.y);
-                            buf.writeDouble(value.velocity.z);
+                            WireCodec.writeVersion(buf);
+                            buf.writeVarInt(value.seq);
                         },
-                        buf -> new BloodParticlePacket(
-                                new Vec3d(buf.readDouble(), buf.readDouble(), buf.readDouble()),
-                                new Vec3d(buf.readDouble(), buf.readDouble(), buf.readDouble()))
+                        buf -> {
+                            WireCodec.readVersion(buf, "throw reject");
+                            return new ThrowRejectPacket(buf.readVarInt());
+                        }
                 );
 
         @Override public Id<? extends CustomPayload> getId() { return ID; }
     }
 
-    public record BleedParticlePacket(Vec3d pos) implements CustomPayload {
-        public static final Id<BleedParticlePacket> ID =
-                new Id<>(Identifier.of("vr-throwing-extensions", "bleed_particle"));
+    // All blood/bleed/sound effects for one player from one world tick (see EffectBus).
+    // Positions are delta coded from the previous effect (the first from a block-aligned base), see WireCodec.
+    // detail[i] = percent of the full particle count the client should spawn for effects[i] (distance LOD)
+    public record EffectBundlePacket(List<Effect> effects, byte[] detail) implements CustomPayload {
+        public static final Id<EffectBundlePacket> ID =
+                new Id<>(Identifier.of("vr-throwing-extensions", "effect_bundle"));
+
+        // count = how many co-located effects of this kind were merged into this one
+        public record Effect(byte kind, int sound, int count, double x, double y, double z,
+                             double vx, double vy, double vz) {
+            Effect withCount(int newCount) {
+                return new Effect(kind, sound, newCount, x, y, z, vx, vy, vz);
+            }
+        }
 
-        public static final PacketCodec<RegistryByteBuf, BleedParticlePacket> CODEC =
-                PacketCodec.of(
-                        (value, buf) -> {
-                            buf.writeDouble(value.pos.x);
-                            buf.writeDouble(value.pos.y);
-                            buf.writeDouble(value.pos.z);
-                        },
-                        buf -> new BleedParticlePacket(
-                                new Vec3d(buf.readDouble(), buf.readDouble(), buf.readDouble()))
-                );
+        public static final PacketCodec<RegistryByteBuf, EffectBundlePacket> CODEC =
+                PacketCodec.of(EffectBundlePacket::write, EffectBundlePacket::read);
+
+        private void write(RegistryByteBuf buf) {
+            WireCodec.writeVersion(buf);
+            int n = effects.size();
+            buf.writeVarInt(n);
+            if (n == 0) return;
+
+            Effect first = effects.get(0);
+            int bx = MathHelper.floor(first.x()), by = MathHelper.floor(first.y()), bz = MathHelper.floor(first.z());
+            buf.writeInt(bx);
+            buf.writeInt(by);
+            buf.writeInt(bz);
+
+            // Deltas are taken from the quantized previous position so rounding doesn't accumulate
+            long px = (long) bx * (long) WireCodec.posScale;
+            long py = (long) by * (long) WireCodec.posScale;
+            long pz = (long) bz * (long) WireCodec.posScale;
+            for (int i = 0; i < n; i++) {
+                Effect e = effects.get(i);
+                buf.writeByte(e.kind());
+                buf.writeByte(detail[i]);
+                buf.writeByte(e.count());
+                long qx = Math.round(e.x() * WireCodec.posScale);
+                long qy = Math.round(e.y() * WireCodec.posScale);
+                long qz = Math.round(e.z() * WireCodec.posScale);
+                WireCodec.writeRelative(buf, (qx - px) / WireCodec.posScale);
+                WireCodec.writeRelative(buf, (qy - py) / WireCodec.posScale);
+                WireCodec.writeRelative(buf, (qz - pz) / WireCodec.posScale);
+                px = qx;
+                py = qy;
+                pz = qz;
+                if (e.kind() == EffectBus.KIND_BLOOD) {
+                    WireCodec.writeVelocity(buf, e.vx());
+                    WireCodec.writeVelocity(buf, e.vy());
+                    WireCodec.writeVelocity(buf, e.vz());
+                } else if (e.kind() == EffectBus.KIND_SOUND) {
+                    buf.writeByte(e.sound());
+                }
+            }
+        }
+
+        private static EffectBundlePacket read(RegistryByteBuf buf) {
+            WireCodec.readVersion(buf, "effect bundle");
+            int n = buf.readVarInt();
+            List<Effect> effects = new ArrayList<>(n);
+            byte[] detail = new byte[n];
+            if (n == 0) return new EffectBundlePacket(effects, detail);
+
+            double x = buf.readInt(), y = buf.readInt(), z = buf.readInt();
+            for (int i = 0; i < n; i++) {
+                byte kind = buf.readByte();
+                detail[i] = buf.readByte();
+                int count = buf.readUnsignedByte();
+                x += WireCodec.readRelative(buf);
+                y += WireCodec.readRelative(buf);
+                z += WireCodec.readRelative(buf);
+                double vx = 0, vy = 0, vz = 0;
+                int sound = 0;
+                if (kind == EffectBus.KIND_BLOOD) {
+                    vx = WireCodec.readVelocity(buf);
+                    vy = WireCodec.readVelocity(buf);
+                    vz = WireCodec.readVelocity(buf);
+                } else if (kind == EffectBus.KIND_SOUND) {
+                    sound = buf.readUnsignedByte();
+                }
+                effects.add(new Effect(kind, sound, count, x, y, z, vx, vy, vz));
+            }
+            return new EffectBundlePacket(effects, detail);
+        }
 
         @Override public Id<? extends CustomPayload> getId() { return ID; }
     }
@@ -158,44 +261,68 @@ public final class NetworkHelper {
         PayloadTypeRegistry.playC2S().register(CatchPacket.ID, CatchPacket.CODEC);
         PayloadTypeRegistry.playC2S().register(CatchUpdatePacket.ID, CatchUpdatePacket.CODEC);
         PayloadTypeRegistry.playC2S().register(CatchCompletePacket.ID, CatchCompletePacket.CODEC);
-        PayloadTypeRegistry.playS2C().register(BloodParticlePacket.ID, BloodParticlePacket.CODEC);
-        PayloadTypeRegistry.playS2C().register(BleedParticlePacket.ID, BleedParticlePacket.CODEC);
-
-        // Handles the packets
-        ServerPlayNetworking.registerGlobalReceiver(ThrowPacket.ID, (payload, context) -> {
-            PlayerEntity sender = context.player();
-            context.server().execute(() -> handleThrow(sender, payload));
-        });
-
-        ServerPlayNetworking.registerGlobalReceiver(CatchPacket.ID, (payload, context) -> {
-            PlayerEntity sender = context.player();
-            context.server().execute(() -> handleCatch(sender, payload));
-        });
-
-        ServerPlayNetworking.registerGlobalReceiver(CatchUpdatePacket.ID, (payload, context) -> {
-            PlayerEntity sender = context.player();
-            context.server().execute(() -> handleCatchUpdate(sender, payload));
-        });
-
-        ServerPlayNetworking.registerGlobalReceiver(CatchCompletePacket.ID, (payload, context) -> {
-            PlayerEntity sender = context.player();
-            context.server().execute(() -> handleCatchComplete(sender, payload));
-        });
+        PayloadTypeRegistry.playS2C().register(EffectBundlePacket.ID, EffectBundlePacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(ThrowRejectPacket.ID, ThrowRejectPacket.CODEC);
+
+        // Per-player budgets so a flooding client can't fill the server task queue
+        PacketThrottle.init();
+
+        // Lines client release times up with server ticks
+        ThrowClock.init();
+
+        // Handles the packets. These already run on the server thread, PacketThrottle admitted them (and
+        // ThrowClock stamped throws) on the Netty thread before they were scheduled
+        ServerPlayNetworking.registerGlobalReceiver(ThrowPacket.ID, (payload, context) ->
+                handleThrow(context.player(), payload,
+                        ThrowClock.arrivalTick(context.player(), payload, context.server().getTicks())));
+
+        ServerPlayNetworking.registerGlobalReceiver(CatchPacket.ID, (payload, context) ->
+                handleCatch(context.player(), payload));
+
+        ServerPlayNetworking.registerGlobalReceiver(CatchUpdatePacket.ID, (payload, context) ->
+                handleCatchUpdate(context.player(), payload));
+
+        ServerPlayNetworking.registerGlobalReceiver(CatchCompletePacket.ID, (payload, context) ->
+                handleCatchComplete(context.player(), payload));
     }
 
     // Spawns thrown item as entity from packet info
-    private static void handleThrow(PlayerEntity player, ThrowPacket packet) {
-        if (player == null || !player.isAlive()) return;
+    private static void handleThrow(PlayerEntity player, ThrowPacket packet, int arrivalTick) {
+        if (player == null) return;
+        if (!player.isAlive()) {
+            rejectThrow(player, packet);
+            return;
+        }
+
+        // How long the throw has been in the air already, negative for duplicated/reordered packets
+        double missedTicks = ThrowClock.missedTicks(player, packet, arrivalTick);
+        if (missedTicks < 0) {
+            rejectThrow(player, packet);
+            return;
+        }
 
         ItemStack heldStack = player.getMainHandStack();
-        if (heldStack.isEmpty() || ModCompat.throwingDisabled(heldStack)) return;
+        if (heldStack.isEmpty() || ModCompat.throwingDisabled(heldStack)) {
+            rejectThrow(player, packet);
+            return;
+        }
 
         // Create projectile with the correct stack size
         ThrownProjectileEntity proj = new ThrownProjectileEntity(
                 player.getWorld(), player, heldStack, packet.wholeStack());
 
-        proj.setPosition(packet.pos());
-        proj.setOriginalThrowPos(packet.pos()); // Boomerang reasons
+        // Release point is where the client let go, anything past arm's reach (plus a tick of movement) is
+        // clamped back toward where we have the player
+        Vec3d pos = packet.pos();
+        Vec3d offset = pos.subtract(player.getPos());
+        double maxDistance = maxThrowReach + maxReleaseDrift;
+        if (offset.lengthSquared() > maxDistance * maxDistance) {
+            log.debug("[Network] Clamping throw offset {} from {}", offset, player.getName().getString());
+            pos = player.getPos().add(offset.normalize().multiply(maxDistance));
+        }
+
+        proj.setPosition(pos);
+        proj.setOriginalThrowPos(pos); // Boomerang reasons
 
         // Rename velocity for readability
         Vec3d velocity = packet.vel();
@@ -204,6 +331,18 @@ public final class NetworkHelper {
         // Sets arm roll degree
         proj.setHandRoll(packet.rollDeg());
 
+        // Lets the thrower swap its predicted projectile for this one
+        proj.setThrowSeq(packet.seq());
+
+        // Early hits are checked against what the thrower was looking at
+        if (player instanceof ServerPlayerEntity sp) {
+            proj.setRewindTicks(EntityHistory.rewindTicks(sp));
+            EntityHistory.noteThrow((ServerWorld) sp.getWorld());
+        }
+
+        // Fly the part of the throw that happened before we heard about it, before anyone tracks it
+        proj.catchUp(missedTicks);
+
         // Launches/spawns the entity
         player.getWorld().spawnEntity(proj);
 
@@ -214,17 +353,13 @@ public final class NetworkHelper {
         // Check item damage
         if (attackDamage <= 1.0F) {
             // Play throw sound
-            if (!player.getWorld().isClient()) {
-                player.getWorld().playSound(null, player.getBlockPos(),
-                        SoundEvents.ENTITY_WITCH_THROW, SoundCategory.PLAYERS,
-                        0.6f, 1.05f);
+            if (player.getWorld() instanceof ServerWorld sw) {
+                EffectBus.sound(sw, Vec3d.ofCenter(player.getBlockPos()), EffectBus.Sound.THROW);
             }
         } else {
             // Play weapon/tool throw sound
-            if (!player.getWorld().isClient()) {
-                player.getWorld().playSound(null, player.getBlockPos(),
-                        SoundEvents.ITEM_TRIDENT_THROW.value(), SoundCategory.PLAYERS,
-                        0.6f, 1.33f);
+            if (player.getWorld() instanceof ServerWorld sw) {
+                EffectBus.sound(sw, Vec3d.ofCenter(player.getBlockPos()), EffectBus.Sound.WEAPON_THROW);
             }
         }
 
@@ -240,6 +375,15 @@ public final class NetworkHelper {
         }
     }
 
+    // Tells the thrower its predicted throw didn't happen and resends its inventory,
+    // in case its own rollback doesn't match what we have
+    private static void rejectThrow(PlayerEntity player, ThrowPacket packet) {
+        if (!(player instanceof ServerPlayerEntity sp)) return;
+        log.debug("[Network] Rejecting throw {} from {}", packet.seq(), player.getName().getString());
+        ServerPlayNetworking.send(sp, new ThrowRejectPacket(packet.seq()));
+        sp.playerScreenHandler.syncState();
+    }
+
     // Handles catch start/cancel packet
     private static void handleCatch(PlayerEntity player, CatchPacket packet) {
         if (player == null || !player.isAlive()) return;
@@ -250,7 +394,7 @@ public final class NetworkHelper {
         if (!(entity instanceof ThrownProjectileEntity projectile)) return;
 
         if (packet.startCatch()) {
-            projectile.startCatch();
+            projectile.startCatch(player);
         } else {
             projectile.cancelCatch();
         }
@@ -264,10 +408,14 @@ public final class NetworkHelper {
         Entity entity = world.getEntityById(packet.entityId());
 
         if (!(entity instanceof ThrownProjectileEntity projectile)) return;
-        if (!projectile.isCatching()) return;
+        if (!projectile.isCatching() || projectile.getCatcher() != player) return;
 
-        // Update projectile velocity for magnetism effect
-        projectile.setVelocity(packet.velocity());
+        // New hand anchor, the magnet itself runs in ProjectileManager
+        Vec3d offset = packet.handOffset();
+        if (offset.lengthSquared() > maxThrowReach * maxThrowReach) {
+            offset = offset.normalize().multiply(maxThrowReach);
+        }
+        projectile.setCatchAnchor(offset);
 
         // Update hand roll for rotation blending
         projectile.setHandRoll(packet.rollDeg());
@@ -292,10 +440,8 @@ public final class NetworkHelper {
         int stackSize = projectile.getStackSize();
 
         // Play catch sound
-        if (!player.getWorld().isClient()) {
-            player.getWorld().playSound(null, player.getBlockPos(),
-                    SoundEvents.ENTITY_ITEM_PICKUP, SoundCategory.PLAYERS,
-                    0.5f, 2.0f);
+        if (player.getWorld() instanceof ServerWorld sw) {
+            EffectBus.sound(sw, Vec3d.ofCenter(player.getBlockPos()), EffectBus.Sound.CATCH);
         }
 
         // Gives the itemstack to the player
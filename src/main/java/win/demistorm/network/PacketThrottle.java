@@ -0,0 +1,200 @@
+package win.demistorm.network;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.network.packet.c2s.common.CustomPayloadC2SPacket;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Per-player token buckets for the C2S packets, checked on the Netty thread (CustomPayloadC2SPacketMixin)
+// before vanilla schedules the packet on the server thread, so an over budget packet never reaches the queue.
+// Throws over budget are dropped and rejected. Catch packets are held latest-wins per projectile and applied
+// once a token frees up, that way a catch cancel or complete is never lost (dropping one would leave the
+// projectile hovering in catch mode).
+public final class PacketThrottle {
+
+    public enum Kind {
+        THROW(10.0, 10.0, false),
+        CATCH(10.0, 10.0, true),          // Start/cancel, only the newest per projectile matters
+        CATCH_UPDATE(20.0, 20.0, true),   // Only the newest hand anchor matters
+        CATCH_COMPLETE(10.0, 10.0, true);
+
+        final double perSecond; // Refill rate
+        final double burst;     // Bucket size
+        final boolean coalesce; // Keep the latest over budget packet per projectile instead of dropping it
+
+        Kind(double perSecond, double burst, boolean coalesce) {
+            this.perSecond = perSecond;
+            this.burst = burst;
+            this.coalesce = coalesce;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    // A client only catches one projectile per hand, more held projectiles than this is a flood
+    private static final int maxHeldPerKind = 8;
+
+    // Warn at most this often per player (nanoseconds)
+    private static final long warnIntervalNanos = 10_000_000_000L;
+    // Counters go to the debug log this often (ticks), when they changed
+    private static final int statsIntervalTicks = 1200;
+
+    private static final Map<UUID, Buckets> BUCKETS = new ConcurrentHashMap<>();
+
+    // Server-wide counters, readable from anywhere
+    private static final AtomicLongArray DROPPED = new AtomicLongArray(KINDS.length);
+    private static final AtomicLongArray COALESCED = new AtomicLongArray(KINDS.length);
+    private static long lastReported = 0L;
+
+    public static void init() {
+        // Held latest-wins packets go through as soon as their bucket refills
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            long now = System.nanoTime();
+            for (Buckets b : BUCKETS.values()) b.flushPending(now);
+            if (server.getTicks() % statsIntervalTicks == 0) reportStats();
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) ->
+                BUCKETS.remove(handler.getPlayer().getUuid()));
+    }
+
+    // Netty thread. True lets the packet through to be scheduled as usual, false means it was dropped or held.
+    // Packets that aren't ours, and held packets being replayed on the server thread, always pass
+    public static boolean admit(ServerPlayNetworkHandler handler, CustomPayloadC2SPacket packet) {
+        CustomPayload payload = packet.payload();
+        Kind kind = kindOf(payload);
+        if (kind == null) return true;
+        ServerPlayerEntity player = handler.player;
+        if (player.getServer() == null || player.getServer().isOnThread()) return true;
+
+        Buckets b = BUCKETS.computeIfAbsent(player.getUuid(), id -> new Buckets());
+        long now = System.nanoTime();
+        if (b.tryAcquire(kind, now)) return true;
+
+        if (kind.coalesce && b.hold(kind, entityOf(payload), () -> packet.apply(handler))) {
+            COALESCED.incrementAndGet(kind.ordinal());
+        } else {
+            DROPPED.incrementAndGet(kind.ordinal());
+            // The thrower already predicted this throw, tell it to roll back
+            if (payload instanceof NetworkHelper.ThrowPacket t) {
+                ServerPlayNetworking.send(player, new NetworkHelper.ThrowRejectPacket(t.seq()));
+            }
+        }
+        b.warnIfNeeded(player, kind, now);
+        return false;
+    }
+
+    public static long dropped(Kind kind) {
+        return DROPPED.get(kind.ordinal());
+    }
+
+    public static long coalesced(Kind kind) {
+        return COALESCED.get(kind.ordinal());
+    }
+
+    private static Kind kindOf(CustomPayload payload) {
+        if (payload instanceof NetworkHelper.ThrowPacket) return Kind.THROW;
+        if (payload instanceof NetworkHelper.CatchPacket) return Kind.CATCH;
+        if (payload instanceof NetworkHelper.CatchUpdatePacket) return Kind.CATCH_UPDATE;
+        if (payload instanceof NetworkHelper.CatchCompletePacket) return Kind.CATCH_COMPLETE;
+        return null;
+    }
+
+    // Projectile a catch packet is about, held packets are keyed by it
+    private static int entityOf(CustomPayload payload) {
+        if (payload instanceof NetworkHelper.CatchPacket p) return p.entityId();
+        if (payload instanceof NetworkHelper.CatchUpdatePacket p) return p.entityId();
+        if (payload instanceof NetworkHelper.CatchCompletePacket p) return p.entityId();
+        return 0;
+    }
+
+    private static void reportStats() {
+        long total = 0L;
+        for (Kind k : KINDS) total += dropped(k) + coalesced(k);
+        if (total == lastReported) return;
+        lastReported = total;
+        StringBuilder sb = new StringBuilder();
+        for (Kind k : KINDS) {
+            sb.append(' ').append(k).append(" dropped=").append(dropped(k)).append(" coalesced=").append(coalesced(k));
+        }
+        log.debug("[Network] Throttle totals:{}", sb);
+    }
+
+    // One player's buckets, touched from the network thread and the server thread
+    private static final class Buckets {
+        final double[] tokens = new double[KINDS.length];
+        final long[] lastRefill = new long[KINDS.length];
+        @SuppressWarnings("unchecked")
+        final Int2ObjectMap<Runnable>[] pending = new Int2ObjectMap[KINDS.length];
+        long lastWarn = 0L;
+        int limitedSinceWarn = 0;
+
+        Buckets() {
+            long now = System.nanoTime();
+            for (Kind k : KINDS) {
+                tokens[k.ordinal()] = k.burst;
+                lastRefill[k.ordinal()] = now;
+                pending[k.ordinal()] = new Int2ObjectOpenHashMap<>();
+            }
+        }
+
+        synchronized boolean tryAcquire(Kind kind, long now) {
+            int k = kind.ordinal();
+            double refill = (now - lastRefill[k]) * 1.0e-9 * kind.perSecond;
+            tokens[k] = Math.min(kind.burst, tokens[k] + refill);
+            lastRefill[k] = now;
+            if (tokens[k] < 1.0) return false;
+            tokens[k] -= 1.0;
+            return true;
+        }
+
+        // Replaces whatever was held for this projectile, false once too many projectiles are held
+        synchronized boolean hold(Kind kind, int entity, Runnable task) {
+            Int2ObjectMap<Runnable> held = pending[kind.ordinal()];
+            if (held.size() >= maxHeldPerKind && !held.containsKey(entity)) return false;
+            held.put(entity, task);
+            return true;
+        }
+
+        // Server thread, applies held packets directly (no second trip through the task queue)
+        void flushPending(long now) {
+            List<Runnable> ready = null;
+            synchronized (this) {
+                for (Kind kind : KINDS) {
+                    Iterator<Runnable> it = pending[kind.ordinal()].values().iterator();
+                    while (it.hasNext() && tryAcquire(kind, now)) {
+                        if (ready == null) ready = new ArrayList<>();
+                        ready.add(it.next());
+                        it.remove();
+                    }
+                }
+            }
+            if (ready != null) ready.forEach(Runnable::run);
+        }
+
+        synchronized void warnIfNeeded(ServerPlayerEntity player, Kind kind, long now) {
+            limitedSinceWarn++;
+            if (now - lastWarn < warnIntervalNanos) return;
+            log.warn("[Network] Rate limiting {} ({} over budget packets, last {}; dropped total={}, coalesced total={})",
+                    player.getName().getString(), limitedSinceWarn, kind, dropped(kind), coalesced(kind));
+            lastWarn = now;
+            limitedSinceWarn = 0;
+        }
+    }
+
+    private PacketThrottle() {}
+}
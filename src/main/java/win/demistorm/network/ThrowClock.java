@@ -0,0 +1,96 @@
+package win.demistorm.network;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static win.demistorm.VRThrowingExtensions.log;
+
+// Works out how long a throw has already been in the air when the server gets to it.
+// Clients stamp throws with their own tick clock, the smallest (arrival tick - release tick) seen so far
+// is taken as the player's best case delay. Anything a throw took on top of that, plus half the ping and
+// the time it waited in the task queue, is flight time the server missed. Arrival ticks are stamped on the
+// Netty thread (CustomPayloadC2SPacketMixin), everything else runs on the server thread.
+public final class ThrowClock {
+
+    // Never fly a projectile ahead by more than this, so a bad clock or a lying client can't teleport it
+    private static final double maxMissedTicks = 4.0;
+    // Lets the baseline creep back up when the route gets slower for good (ticks per throw)
+    private static final double baselineCreep = 0.02;
+
+    private static final Map<UUID, Clock> CLOCKS = new HashMap<>();
+    // Server tick each throw came off the wire, by seq, until its handler picks it up
+    private static final Map<UUID, Int2IntMap> ARRIVALS = new ConcurrentHashMap<>();
+
+    private static final class Clock {
+        int lastSeq;
+        double baseline; // Smallest arrival - release seen, in ticks
+    }
+
+    public static void init() {
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            ARRIVALS.remove(handler.getPlayer().getUuid());
+            server.execute(() -> CLOCKS.remove(handler.getPlayer().getUuid()));
+        });
+    }
+
+    // Netty thread, before the packet is scheduled. The tick counter is read racily, a tick off is fine here
+    public static void stampArrival(ServerPlayerEntity player, NetworkHelper.ThrowPacket packet) {
+        MinecraftServer server = player.getServer();
+        if (server == null || server.isOnThread()) return; // Handled right away, the current tick is right
+        Int2IntMap stamps = ARRIVALS.computeIfAbsent(player.getUuid(), id -> new Int2IntOpenHashMap());
+        synchronized (stamps) {
+            stamps.put(packet.seq(), server.getTicks());
+        }
+    }
+
+    // Server thread. Tick the throw arrived on, or the current one if it wasn't stamped
+    public static int arrivalTick(PlayerEntity player, NetworkHelper.ThrowPacket packet, int now) {
+        Int2IntMap stamps = ARRIVALS.get(player.getUuid());
+        if (stamps == null) return now;
+        synchronized (stamps) {
+            return stamps.containsKey(packet.seq()) ? stamps.remove(packet.seq()) : now;
+        }
+    }
+
+    // Ticks to advance the new projectile by, or -1 if the packet is a duplicate or arrived out of order
+    public static double missedTicks(PlayerEntity player, NetworkHelper.ThrowPacket packet, int arrivalTick) {
+        MinecraftServer server = player.getServer();
+        if (server == null) return 0.0;
+
+        double released = packet.releaseTick() + (double) packet.releaseFraction();
+        double delay = arrivalTick - released;
+
+        Clock clock = CLOCKS.get(player.getUuid());
+        if (clock == null) {
+            clock = new Clock();
+            clock.lastSeq = packet.seq();
+            clock.baseline = delay;
+            CLOCKS.put(player.getUuid(), clock);
+        } else {
+            if (packet.seq() - clock.lastSeq <= 0) { // Wrap safe
+                log.debug("[Network] Dropping stale throw {} from {} (last {})",
+                        packet.seq(), player.getName().getString(), clock.lastSeq);
+                return -1.0;
+            }
+            clock.lastSeq = packet.seq();
+            clock.baseline = Math.min(clock.baseline + baselineCreep, delay);
+        }
+
+        // Extra delay over the best case, the one-way trip, and ticks between arriving and being handled
+        double oneWay = player instanceof ServerPlayerEntity sp ? sp.networkHandler.getLatency() / 2.0 / 50.0 : 0.0;
+        double queued = server.getTicks() - arrivalTick;
+        double missed = (delay - clock.baseline) + oneWay + queued;
+        return Math.max(0.0, Math.min(maxMissedTicks, missed));
+    }
+
+    private ThrowClock() {}
+}
@@ -0,0 +1,115 @@
+package win.demistorm.network;
+
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+// Shared compact encodings for the mod's packets.
+// Every payload starts with a version byte so a mismatched client/server fails loudly instead of misreading.
+public final class WireCodec {
+
+    // Bump when any payload layout changes
+    public static final byte VERSION = 3;
+
+    // Relative positions, 1/2048 block (~0.5 mm) fixed point as zigzag VarInts
+    public static final double posScale = 2048.0;
+    // Velocities in blocks/tick as shorts, +-16 blocks/tick range at ~0.0005 resolution
+    public static final double velScale = 2048.0;
+    // Angles as a single byte, 256 steps per turn (~1.4 degrees)
+    private static final float angleScale = 256.0f / 360.0f;
+
+    public static void writeVersion(PacketByteBuf buf) {
+        buf.writeByte(VERSION);
+    }
+
+    public static void readVersion(PacketByteBuf buf, String packet) {
+        byte version = buf.readByte();
+        if (version != VERSION) {
+            throw new DecoderException("Unsupported " + packet + " version " + version + " (expected " + VERSION + ")");
+        }
+    }
+
+    // Position relative to some origin both sides agree on (sender, entity, previous effect)
+    public static void writeRelative(PacketByteBuf buf, double value) {
+        long fixed = Math.round(value * posScale);
+        int clamped = (int) MathHelper.clamp(fixed, Integer.MIN_VALUE / 2, Integer.MAX_VALUE / 2);
+        buf.writeVarInt(zigzag(clamped));
+    }
+
+    public static double readRelative(PacketByteBuf buf) {
+        return unzigzag(buf.readVarInt()) / posScale;
+    }
+
+    public static void writeRelative(PacketByteBuf buf, Vec3d v) {
+        writeRelative(buf, v.x);
+        writeRelative(buf, v.y);
+        writeRelative(buf, v.z);
+    }
+
+    public static Vec3d readRelativeVec(PacketByteBuf buf) {
+        return new Vec3d(readRelative(buf), readRelative(buf), readRelative(buf));
+    }
+
+    // World position as the block it's in (one packed long) plus the fixed point offset inside it
+    public static void writeAbsolute(PacketByteBuf buf, Vec3d v) {
+        BlockPos block = BlockPos.ofFloored(v);
+        buf.writeLong(block.asLong());
+        writeRelative(buf, v.x - block.getX());
+        writeRelative(buf, v.y - block.getY());
+        writeRelative(buf, v.z - block.getZ());
+    }
+
+    public static Vec3d readAbsoluteVec(PacketByteBuf buf) {
+        BlockPos block = BlockPos.fromLong(buf.readLong());
+        return new Vec3d(block.getX() + readRelative(buf), block.getY() + readRelative(buf),
+                block.getZ() + readRelative(buf));
+    }
+
+    public static void writeVelocity(PacketByteBuf buf, double value) {
+        buf.writeShort((short) MathHelper.clamp(Math.round(value * velScale), Short.MIN_VALUE, Short.MAX_VALUE));
+    }
+
+    public static double readVelocity(PacketByteBuf buf) {
+        return buf.readShort() / velScale;
+    }
+
+    public static void writeVelocity(PacketByteBuf buf, Vec3d v) {
+        writeVelocity(buf, v.x);
+        writeVelocity(buf, v.y);
+        writeVelocity(buf, v.z);
+    }
+
+    public static Vec3d readVelocityVec(PacketByteBuf buf) {
+        return new Vec3d(readVelocity(buf), readVelocity(buf), readVelocity(buf));
+    }
+
+    // Wraps to [-180, 180) on the way back
+    public static void writeAngle(PacketByteBuf buf, float degrees) {
+        buf.writeByte(MathHelper.floor(degrees * angleScale + 0.5f));
+    }
+
+    public static float readAngle(PacketByteBuf buf) {
+        return buf.readByte() / angleScale;
+    }
+
+    // Fraction in [0, 1) as an unsigned byte, 1/256 steps
+    public static void writeFraction(PacketByteBuf buf, float fraction) {
+        buf.writeByte(MathHelper.clamp(MathHelper.floor(fraction * 256.0f), 0, 255));
+    }
+
+    public static float readFraction(PacketByteBuf buf) {
+        return buf.readUnsignedByte() / 256.0f;
+    }
+
+    static int zigzag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    static int unzigzag(int v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private WireCodec() {}
+}
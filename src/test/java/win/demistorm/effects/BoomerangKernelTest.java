@@ -0,0 +1,216 @@
+package win.demistorm.effects;
+
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Golden trajectories for the boomerang return. The reference below is the old Vec3d steering
+// (acos + axis rotation), kept verbatim apart from working on plain state instead of the entity.
+// Full return flights are replayed through both and must agree step for step.
+class BoomerangKernelTest {
+
+    private static final double tolerance = 1.0e-9;
+    private static final int maxSteps = 400;
+    private static final int flights = 500;
+
+    // Returns that start without an arc offset, like every bounce today
+    @Test
+    void straightReturnsMatchReference() {
+        Random rng = new Random(1);
+        for (int n = 0; n < flights; n++) {
+            Vec3d origin = randomOrigin(rng);
+            Vec3d pos = origin.add(rng.nextGaussian() * 12.0, rng.nextGaussian() * 3.0, rng.nextGaussian() * 12.0);
+            Vec3d vel = new Vec3d(rng.nextGaussian(), rng.nextGaussian() * 0.3, rng.nextGaussian());
+            replay(pos, vel, Vec3d.ZERO, origin);
+        }
+    }
+
+    // Offsets from the startBounce arc geometry, roll >= 0 (arc plane not mirrored)
+    @Test
+    void arcReturnsMatchReference() {
+        Random rng = new Random(2);
+        for (int n = 0; n < flights; n++) {
+            replayBounce(rng, rng.nextDouble() * 90.0);
+        }
+    }
+
+    // Negative roll mirrors the arc to the other side (bounceInverse)
+    @Test
+    void inverseArcReturnsMatchReference() {
+        Random rng = new Random(3);
+        for (int n = 0; n < flights; n++) {
+            replayBounce(rng, -rng.nextDouble() * 90.0);
+        }
+    }
+
+    // Flying straight away from the origin hits the anti-parallel nudge on the first step
+    @Test
+    void reversedStartMatchesReference() {
+        Random rng = new Random(4);
+        for (int n = 0; n < flights; n++) {
+            Vec3d origin = randomOrigin(rng);
+            Vec3d away = new Vec3d(rng.nextGaussian(), rng.nextGaussian() * 0.2, rng.nextGaussian()).normalize();
+            Vec3d pos = origin.add(away.multiply(3.0 + rng.nextDouble() * 20.0));
+            replay(pos, away.multiply(0.5 + rng.nextDouble()), Vec3d.ZERO, origin);
+        }
+    }
+
+    private static Vec3d randomOrigin(Random rng) {
+        return new Vec3d(rng.nextGaussian() * 100.0, 64.0 + rng.nextGaussian() * 10.0, rng.nextGaussian() * 100.0);
+    }
+
+    // Starts a return the way startBounce sets one up: velocity toward the origin plus a lateral kick,
+    // and an arc offset of arcMag along the curve direction picked by the hand roll
+    private static void replayBounce(Random rng, double rollDeg) {
+        Vec3d origin = randomOrigin(rng);
+        Vec3d pos = origin.add(rng.nextGaussian() * 15.0, rng.nextGaussian() * 3.0, rng.nextGaussian() * 15.0);
+        Vec3d toOrigin = origin.subtract(pos);
+        double distance = toOrigin.length();
+        if (distance < 0.1) return;
+        Vec3d dir = toOrigin.normalize();
+
+        double rollRad = Math.toRadians(rollDeg);
+        Vec3d upRolled = rotateAroundAxis(new Vec3d(0, 1, 0), dir, rollRad);
+        Vec3d upProj = upRolled.subtract(dir.multiply(upRolled.dotProduct(dir))).normalize();
+        Vec3d right = dir.crossProduct(upRolled).normalize();
+        Vec3d curveDir = upProj.multiply(Math.cos(rollRad)).add(right.multiply(Math.sin(rollRad))).normalize();
+        if (rollDeg < 0.0) curveDir = curveDir.multiply(-1);
+
+        double arcMag = MathHelper.clamp(distance * BoomerangEffect.arcGain, BoomerangEffect.arcMin,
+                BoomerangEffect.arcMax);
+        double speed = BoomerangEffect.baseReturnSpeed * speedMultiplier(distance);
+        Vec3d vel = dir.multiply(speed).add(curveDir.multiply(speed * BoomerangEffect.lateralStartBoost))
+                .add(0, 0.02, 0);
+        replay(pos, vel, curveDir.multiply(arcMag), origin);
+    }
+
+    // Flies one return through both versions, moving by the velocity after every step
+    private static void replay(Vec3d startPos, Vec3d startVel, Vec3d startArc, Vec3d origin) {
+        // Reference state
+        Vec3d refPos = startPos, refVel = startVel, refArc = startArc;
+
+        // Kernel state, one slot
+        double[] pos = {startPos.x, startPos.y, startPos.z};
+        double[] vel = {startVel.x, startVel.y, startVel.z};
+        double[] arc = {startArc.x, startArc.y, startArc.z};
+        double[] org = {origin.x, origin.y, origin.z};
+
+        for (int step = 0; step < maxSteps; step++) {
+            Reference ref = referenceTick(refPos, refVel, refArc, origin);
+            boolean done = BoomerangEffect.tickReturn(pos, vel, arc, org, 0);
+            assertEquals(ref.done, done, "finish differs at step " + step);
+            if (done) return;
+
+            refVel = ref.vel;
+            refArc = ref.arc;
+            assertClose(refVel, vel, "velocity", step);
+            assertClose(refArc, arc, "arc offset", step);
+
+            refPos = refPos.add(refVel);
+            pos[0] += vel[0];
+            pos[1] += vel[1];
+            pos[2] += vel[2];
+            assertClose(refPos, pos, "position", step);
+        }
+    }
+
+    private static void assertClose(Vec3d expected, double[] actual, String what, int step) {
+        double scale = Math.max(1.0, expected.length());
+        assertEquals(expected.x, actual[0], tolerance * scale, what + " x at step " + step);
+        assertEquals(expected.y, actual[1], tolerance * scale, what + " y at step " + step);
+        assertEquals(expected.z, actual[2], tolerance * scale, what + " z at step " + step);
+    }
+
+    private record Reference(boolean done, Vec3d vel, Vec3d arc) {}
+
+    // Old BoomerangEffect.tickReturn, entity fields swapped for parameters
+    private static Reference referenceTick(Vec3d currentPos, Vec3d currentVel, Vec3d curveOffset, Vec3d origin) {
+        Vec3d toOrigin = origin.subtract(currentPos);
+        double distSq = toOrigin.lengthSquared();
+
+        if (distSq < 0.36) {
+            return new Reference(true, currentVel, curveOffset);
+        }
+        if (currentVel.length() > 0.01) {
+            double dot = currentVel.normalize().dotProduct(toOrigin.normalize());
+            if (dot < -0.8 && distSq < 4.0) {
+                return new Reference(true, currentVel, curveOffset);
+            }
+        }
+
+        Vec3d target = origin.add(curveOffset);
+        Vec3d toTarget = target.subtract(currentPos);
+        double distance = toTarget.length();
+        if (distance < 0.0001) {
+            return new Reference(false, currentVel, curveOffset);
+        }
+        Vec3d wantDir = toTarget.normalize();
+
+        double targetSpeed = BoomerangEffect.baseReturnSpeed * speedMultiplier(Math.sqrt(distSq));
+        double turnRate = MathHelper.lerp(
+                MathHelper.clamp((float)(distance / BoomerangEffect.farDistance), 0.0f, 1.0f),
+                BoomerangEffect.maxTurnRateNear,
+                BoomerangEffect.maxTurnRateFar
+        );
+        Vec3d turned = turnTowards(currentVel, wantDir, turnRate);
+
+        Vec3d newVel = turned.multiply(BoomerangEffect.dampFactor);
+        double newSpeed = newVel.length();
+        double maxSpeed = targetSpeed * BoomerangEffect.maxOverTarget;
+        double minSpeed = targetSpeed * BoomerangEffect.minUnderTarget;
+        if (newSpeed > maxSpeed) {
+            newVel = newVel.normalize().multiply(maxSpeed);
+        } else if (newSpeed < minSpeed && newSpeed > 0.0001) {
+            newVel = newVel.normalize().multiply(minSpeed);
+        }
+
+        double nearFactor = MathHelper.clamp(1.0 - (distance / BoomerangEffect.farDistance), 0.0, 0.8);
+        double decay = MathHelper.lerp(nearFactor, BoomerangEffect.arcDecayPerStep,
+                BoomerangEffect.arcDecayPerStep * 0.75);
+        return new Reference(false, newVel, curveOffset.multiply(decay));
+    }
+
+    private static double speedMultiplier(double distance) {
+        if (distance <= BoomerangEffect.closeDistance) return BoomerangEffect.closeSpeedMultiplier;
+        if (distance >= BoomerangEffect.farDistance) return BoomerangEffect.farSpeedMultiplier;
+
+        double t = (distance - BoomerangEffect.closeDistance)
+                / (BoomerangEffect.farDistance - BoomerangEffect.closeDistance);
+        t = Math.pow(t, BoomerangEffect.scalingCurve);
+        return MathHelper.lerp((float)t, (float)BoomerangEffect.closeSpeedMultiplier,
+                (float)BoomerangEffect.farSpeedMultiplier);
+    }
+
+    private static Vec3d rotateAroundAxis(Vec3d v, Vec3d axis, double angle) {
+        Vec3d k = axis.normalize();
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double dot = v.dotProduct(k);
+        return v.multiply(cos).add(k.crossProduct(v).multiply(sin)).add(k.multiply(dot * (1.0 - cos)));
+    }
+
+    private static Vec3d turnTowards(Vec3d currentVel, Vec3d wantDir, double maxAngle) {
+        double speed = currentVel.length();
+        if (speed < 1e-6) {
+            return wantDir.multiply(speed);
+        }
+        Vec3d curDir = currentVel.normalize();
+        double dot = MathHelper.clamp(curDir.dotProduct(wantDir), -1.0, 1.0);
+        double angle = Math.acos(dot);
+
+        if (angle <= maxAngle) {
+            return wantDir.multiply(speed);
+        }
+        Vec3d axis = curDir.crossProduct(wantDir);
+        if (axis.lengthSquared() < 1e-9) {
+            Vec3d turnDir = curDir.multiply(1.0 - 1e-3).add(wantDir.multiply(1e-3)).normalize();
+            return turnDir.multiply(speed);
+        }
+        Vec3d rotated = rotateAroundAxis(curDir, axis, maxAngle);
+        return rotated.normalize().multiply(speed);
+    }
+}